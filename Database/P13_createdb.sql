@@ -34,6 +34,7 @@ CREATE TABLE IF NOT EXISTS WALLET (
     amount FLOAT NOT NULL,
     cur_balance FLOAT NOT NULL,
     creation_date DATE NOT NULL,
+    last_modified DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
     FOREIGN KEY (user_id) REFERENCES USER(user_id)
 );
 
@@ -41,7 +42,11 @@ CREATE TABLE IF NOT EXISTS WALLET (
 CREATE TABLE IF NOT EXISTS DOCUMENTS (
     document_id INT AUTO_INCREMENT PRIMARY KEY,
     campaign_id INT,
-    documents MEDIUMBLOB
+    documents MEDIUMBLOB,
+    file_name VARCHAR(255),
+    content_type VARCHAR(255),
+    sha256 CHAR(64),
+    file_size BIGINT
 );
 
 -- CAMPAIGN table (wallet_id and document_id FK added later)
@@ -57,6 +62,8 @@ CREATE TABLE IF NOT EXISTS CAMPAIGN (
     wallet_id INT,
     documents MEDIUMBLOB,
     document_id INT,
+    last_modified DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    review_notes VARCHAR(1000),
     FOREIGN KEY (user_id) REFERENCES USER(user_id),
     FOREIGN KEY (category_id) REFERENCES CATEGORY(category_id)
 );
@@ -141,11 +141,12 @@ export default function AdminDashboard() {
 
   /* ---------- DOCUMENT MODAL ---------- */
   const handleViewDocuments = (campaign) => {
-    // Backend returns:  campaign.documents = [{ name:'...', content:'BASE64' }, ...]
+    // Backend returns:  campaign.documents = [{ name:'...', contentType:'...', url:'/api/campaign/{id}/document' }, ...]
     const raw = campaign.documents || [];
     const parsedDocs = raw.map((d) => ({
       name: d.name || 'document.pdf',
-      content: d.content,
+      contentType: d.contentType,
+      url: `http://localhost:8080${d.url}`,
     }));
     setSelectedCampaign({ ...campaign, parsedDocuments: parsedDocs });
     setShowDocumentViewer(true);
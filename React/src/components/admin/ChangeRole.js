@@ -1,19 +1,28 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 
+// the admin endpoints need the logged-in admin's token
+const authHeaders = () => ({ Authorization: `Bearer ${localStorage.getItem("token")}` });
+
 export default function ChangeRole() {
   const isAdmin = true;
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
 
-  useEffect(() => {
-    axios.get("http://localhost:8080/api/auth/admin/users")
+  // the listing is paged: X-Next-Cursor is set while more users remain
+  const loadUsers = (after) => {
+    axios.get("http://localhost:8080/api/auth/admin/users", { params: { after }, headers: authHeaders() })
       .then(response => {
-        console.log("Fetched users:", response.data); // DEBUG
-        setUsers(response.data);
+        setUsers(prev => (after ? [...prev, ...response.data] : response.data));
+        setNextCursor(response.headers["x-next-cursor"] || null);
       })
       .catch(error => {
         console.error("Error fetching users:", error);
       });
+  };
+
+  useEffect(() => {
+    loadUsers(0);
   }, []);
 
   const handleChangeRole = (userId, newRoleId) => {
@@ -22,6 +31,7 @@ export default function ChangeRole() {
         targetEmail: users.find(u => u.id === userId).email,
         newRoleId: newRoleId,
       },
+      headers: authHeaders(),
     })
       .then(res => {
         alert("Role changed successfully");
@@ -57,7 +67,7 @@ export default function ChangeRole() {
               <td>{user.email}</td>
               <td>
                 <select
-                  value={user.newRoleId !== undefined ? user.newRoleId : user.role?.id || 1} // default to 1 (User) if role.id is undefined
+                  value={user.newRoleId !== undefined ? user.newRoleId : user.roleId || 1} // default to 1 if roleId is undefined
                   onChange={(e) => {
                     const updatedUsers = users.map(u =>
                       u.id === user.id ? { ...u, newRoleId: parseInt(e.target.value) } : u
@@ -71,7 +81,7 @@ export default function ChangeRole() {
                 </select>
                 <button
                   onClick={() =>
-                    handleChangeRole(user.id, user.newRoleId !== undefined ? user.newRoleId : user.role?.id)
+                    handleChangeRole(user.id, user.newRoleId !== undefined ? user.newRoleId : user.roleId)
                   }
                   style={{
                     padding: '6px 12px',
@@ -90,6 +100,9 @@ export default function ChangeRole() {
           ))}
         </tbody>
       </table>
+      {nextCursor && (
+        <button onClick={() => loadUsers(nextCursor)}>Load more</button>
+      )}
     </div>
   );
 }
\ No newline at end of file
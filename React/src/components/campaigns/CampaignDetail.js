@@ -17,6 +17,16 @@ export default function CampaignDetail() {
         loadCampaign();
     }, [id]);
 
+    // live progress pushed by the server instead of re-fetching the campaign
+    useEffect(() => {
+        const source = new EventSource(`http://localhost:8080/api/campaign/${id}/stream`);
+        source.addEventListener('progress', (e) => {
+            const data = JSON.parse(e.data);
+            setCampaign(prev => prev && { ...prev, raised: data.amount, status: data.status });
+        });
+        return () => source.close();
+    }, [id]);
+
     const loadCampaign = async () => {
         setLoading(true);
         setError('');
@@ -1,5 +1,5 @@
 // DocumentViewer.js
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 
 export default function DocumentViewer({
   documents,          // <-- now an array
@@ -10,6 +10,29 @@ export default function DocumentViewer({
 }) {
   const [verificationNotes, setVerificationNotes] = useState('');
   const [currentIndex, setCurrentIndex] = useState(0);
+  const [blobUrl, setBlobUrl] = useState(null);
+
+  const docUrl = documents && documents[currentIndex] ? documents[currentIndex].url : null;
+
+  // Fetch the file from the streaming endpoint and preview it from a local object URL
+  useEffect(() => {
+    if (!docUrl) return undefined;
+    let objectUrl = null;
+    let cancelled = false;
+    fetch(docUrl)
+      .then((res) => res.blob())
+      .then((blob) => {
+        if (cancelled) return;
+        objectUrl = URL.createObjectURL(blob);
+        setBlobUrl(objectUrl);
+      })
+      .catch((err) => console.error('Failed to load document:', err));
+    return () => {
+      cancelled = true;
+      if (objectUrl) URL.revokeObjectURL(objectUrl);
+      setBlobUrl(null);
+    };
+  }, [docUrl]);
 
   if (!documents || documents.length === 0) {
     return (
@@ -25,21 +48,12 @@ export default function DocumentViewer({
   const currentDoc = documents[currentIndex];
 
   const handleDownload = () => {
-    const byteCharacters = atob(currentDoc.content);
-    const byteNumbers = new Array(byteCharacters.length);
-    for (let i = 0; i < byteCharacters.length; i++) {
-      byteNumbers[i] = byteCharacters.charCodeAt(i);
-    }
-    const byteArray = new Uint8Array(byteNumbers);
-    const blob = new Blob([byteArray], { type: 'application/octet-stream' });
-    const url = URL.createObjectURL(blob);
     const link = document.createElement('a');
-    link.href = url;
+    link.href = blobUrl || currentDoc.url;
     link.download = currentDoc.name || 'document';
     document.body.appendChild(link);
     link.click();
     document.body.removeChild(link);
-    URL.revokeObjectURL(url);
   };
 
   return (
@@ -59,7 +73,7 @@ export default function DocumentViewer({
           {currentDoc.name.toLowerCase().endsWith('.pdf') ? (
             <iframe
               title={currentDoc.name}
-              src={`data:application/pdf;base64,${currentDoc.content}`}
+              src={blobUrl || ''}
               width="100%"
               height="100%"
             />
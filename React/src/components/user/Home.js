@@ -128,31 +128,45 @@ export default function Home() {
     }, []);
 
   useEffect(() => {
-    fetch("http://localhost:8080/api/campaign/active")
-      .then(res => res.json())
-      .then(data => {
-        let formatted = [];
-        if (Array.isArray(data) && data.length > 0) {
-          formatted = data.map(c => {
-            const categoryName = c.category?.cname || 'Uncategorized';
-            return {
-              id: c.campaignId,
-              name: c.title,
-              description: "Help support this cause with your contribution.",
-              creatorId: c.user?.username || 'Unknown',
-              imageURL: '/placeholder.jpg',
-              target: c.targetAmt || 0,
-              balance: c.wallet?.amount || 0,
-              category: categoryName
-            };
-          });
-        }
-        setCampaignList(formatted);
-      })
-      .catch(err => {
-        console.error("Error fetching campaigns:", err);
-        setCampaignList([]);
-      });
+    let cancelled = false;
+
+    // the listing is paged: follow X-Next-Cursor until every active campaign is loaded,
+    // showing each page as it arrives (the category buttons are built from the full list)
+    const loadPage = (after) => {
+      fetch(`http://localhost:8080/api/campaign/active?after=${after}`)
+        .then(res => {
+          const next = res.headers.get("X-Next-Cursor");
+          return res.json().then(data => ({ data, next }));
+        })
+        .then(({ data, next }) => {
+          if (cancelled) return;
+          let formatted = [];
+          if (Array.isArray(data) && data.length > 0) {
+            formatted = data.map(c => {
+              const categoryName = c.category?.cname || 'Uncategorized';
+              return {
+                id: c.campaignId,
+                name: c.title,
+                description: "Help support this cause with your contribution.",
+                creatorId: c.user?.username || 'Unknown',
+                imageURL: '/placeholder.jpg',
+                target: c.targetAmt || 0,
+                balance: c.wallet?.amount || 0,
+                category: categoryName
+              };
+            });
+          }
+          setCampaignList(prev => (after ? [...prev, ...formatted] : formatted));
+          if (next) loadPage(next);
+        })
+        .catch(err => {
+          console.error("Error fetching campaigns:", err);
+          if (!after && !cancelled) setCampaignList([]);
+        });
+    };
+
+    loadPage(0);
+    return () => { cancelled = true; };
   }, []);
 
   useEffect(() => {
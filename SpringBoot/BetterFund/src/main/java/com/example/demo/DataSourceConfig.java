@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import com.example.demo.util.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class DataSourceConfig {
+
+    // wraps the pool so at most db.concurrency.permits connections are in use at once
+    // (defaults to the Hikari pool size); enabled alongside virtual threads unless overridden
+    @Bean
+    @ConditionalOnExpression("${db.concurrency.enabled:${spring.threads.virtual.enabled:false}}")
+    public static BeanPostProcessor concurrencyLimitedDataSource(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int permits = env.getProperty("db.concurrency.permits", Integer.class, 0);
+                HikariDataSource hikari = hikari(ds);
+                if (permits <= 0 && hikari != null) {
+                    // an unset pool size is still -1 here; Hikari settles it to 10 on start
+                    permits = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+                }
+                if (permits <= 0) {
+                    return bean;
+                }
+                long timeout = env.getProperty("db.concurrency.acquire-timeout-ms", Long.class, 5000L);
+                return new ConcurrencyLimitedDataSource(ds, permits, timeout);
+            }
+        };
+    }
+
+    // the pool may already be wrapped, e.g. by the query metrics
+    private static HikariDataSource hikari(DataSource ds) {
+        try {
+            return ds.isWrapperFor(HikariDataSource.class) ? ds.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo;
+
+import com.example.demo.services.CampaignProgressHub;
+import com.example.demo.services.CampaignResponseCache;
+import com.example.demo.services.CustomUserDetailsService;
+import com.example.demo.services.VirtualThreadPinningMonitor;
+import com.example.demo.util.BoundedTtlCache;
+import com.example.demo.util.ConcurrencyLimitedDataSource;
+import com.example.demo.util.QueryMetricsDataSource;
+import com.example.demo.util.RequestQueryMetricsFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class MetricsConfig {
+
+    // times every JDBC statement (jdbc.queries); the registry is looked up only once the
+    // DataSource exists, so it is still configured by Boot's meter customizers
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSource(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof QueryMetricsDataSource) {
+                    return bean;
+                }
+                return new QueryMetricsDataSource(ds, registry.getObject());
+            }
+        };
+    }
+
+    // per-request statement count and time; wraps the security filters so token checks count too
+    @Bean
+    public FilterRegistrationBean<RequestQueryMetricsFilter> requestQueryMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<RequestQueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestQueryMetricsFilter(registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // the in-process caches, live progress streams and virtual-thread pinnings, which otherwise
+    // only show up in /api/admin/cache-stats or the logs
+    @Bean
+    public MeterBinder applicationMetrics(CampaignResponseCache responseCache,
+                                          CustomUserDetailsService userDetailsService,
+                                          CampaignProgressHub progressHub,
+                                          ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        return registry -> {
+            bindCache(registry, "campaignResponses", responseCache.getCache());
+            bindCache(registry, "userDetails", userDetailsService.getCache());
+
+            Gauge.builder("campaign.stream.subscribers", progressHub, CampaignProgressHub::getSubscriberCount)
+                    .description("Open campaign progress streams")
+                    .register(registry);
+            FunctionCounter.builder("campaign.stream.dropped", progressHub, CampaignProgressHub::getDroppedCount)
+                    .description("Progress streams closed because the client fell behind")
+                    .register(registry);
+
+            pinningMonitor.ifAvailable(monitor -> {
+                FunctionCounter.builder("jvm.threads.virtual.pinned", monitor, VirtualThreadPinningMonitor::getAppPinnedCount)
+                        .description("Virtual threads pinned past the threshold")
+                        .tag("code", "application")
+                        .register(registry);
+                FunctionCounter.builder("jvm.threads.virtual.pinned", monitor, VirtualThreadPinningMonitor::getOtherPinnedCount)
+                        .description("Virtual threads pinned past the threshold")
+                        .tag("code", "other")
+                        .register(registry);
+            });
+        };
+    }
+
+    // named like Micrometer's own cache meters, so the usual cache dashboards apply
+    private static void bindCache(MeterRegistry registry, String name, BoundedTtlCache<?, ?> cache) {
+        Gauge.builder("cache.size", cache, BoundedTtlCache::size)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::hitCount)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::missCount)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedTtlCache::evictionCount)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    // with the connection limit in front of the pool, requests wait on its permits instead of in Hikari
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited;
+            try {
+                if (!dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+                    return;
+                }
+                limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("db.concurrency.permits.available", limited, ConcurrencyLimitedDataSource::availablePermits)
+                    .description("Database connection permits not in use")
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", limited, ConcurrencyLimitedDataSource::queueLength)
+                    .description("Threads waiting for a database connection permit")
+                    .register(registry);
+        };
+    }
+}
@@ -2,7 +2,9 @@ package com.example.demo;
 
 import com.example.demo.security.JwtAuthFilter;
 import com.example.demo.services.CustomUserDetailsService;
+import com.example.demo.util.BCryptCostTuner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +31,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    @Value("${security.bcrypt.target-ms:250}")
+    private long bcryptTargetMillis;
+
+    @Value("${security.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${security.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -37,7 +48,11 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // authorities are the role names as stored (Admin, Donor, ...), without a ROLE_ prefix
+                // the metrics expose endpoint paths, user and cache counts: scrape with an admin token
+                .requestMatchers("/api/admin/**", "/api/auth/admin/**", "/actuator/prometheus").hasAuthority("Admin")
                 .requestMatchers("/api/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
                 .anyRequest()
                 .authenticated()
             )
@@ -54,7 +69,7 @@ public class SecurityConfig {
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
         config.setAllowCredentials(true);
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of("Authorization", "X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -76,6 +91,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // work factor tuned to this host at startup; older hashes are upgraded on login
+        int cost = BCryptCostTuner.tune(bcryptTargetMillis, bcryptMinCost, bcryptMaxCost);
+        return new BCryptPasswordEncoder(cost);
     }
 }
@@ -0,0 +1,38 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor asyncExecutor = new ThreadPoolTaskExecutor();
+
+    // StreamingResponseBody bodies (the admin exports) are written on this pool, off the request
+    // threads. It is bounded because each export holds a database connection until it finishes.
+    // AdminExportController admits at most export.threads exports and answers 503 beyond that; the
+    // queue only covers an export admitted while the previous one's thread is still returning to
+    // the pool, so a task is never rejected here. Not a bean, so Boot's applicationTaskExecutor
+    // stays in place for everything else.
+    public WebMvcConfig(@Value("${export.threads:4}") int threads) {
+        asyncExecutor.setThreadNamePrefix("mvc-async-");
+        asyncExecutor.setCorePoolSize(threads);
+        asyncExecutor.setMaxPoolSize(threads);
+        asyncExecutor.setQueueCapacity(threads);
+        asyncExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        asyncExecutor.shutdown();
+    }
+}
@@ -1,31 +1,94 @@
 package com.example.demo.controllers;
 
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.demo.entities.Campaign;
+import com.example.demo.entities.Category;
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
 import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.services.CampaignExpiryScheduler;
+import com.example.demo.services.CampaignProgressHub;
+import com.example.demo.services.CampaignResponseCache;
+import com.example.demo.services.CampaignReviewService;
+import com.example.demo.services.CampaignSearchIndex;
+import com.example.demo.services.CounterUpdateLock;
+import com.example.demo.services.CustomUserDetailsService;
+import com.example.demo.services.DashboardStatsService;
+import com.example.demo.util.BoundedTtlCache;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
 public class AdminCampaignController {
 
+    // review notes, single or bulk
+    private static final int MAX_NOTES_LENGTH = 1000;
+
     @Autowired
     private CampaignRepository campaignRepository;
 
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    @Autowired
+    private CampaignExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private CampaignProgressHub progressHub;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    @Autowired
+    private CampaignSearchIndex searchIndex;
+
+    @Autowired
+    private CampaignReviewService reviewService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
 ///////////////////// APROVE CAMPAGIN //////////////////////////
     @PutMapping("/campaigns/{id}/approve")
     public ResponseEntity<?> approveCampaign(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        String notes = body.get("notes");
+        if (notes != null && notes.length() > MAX_NOTES_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("message", "notes must be at most " + MAX_NOTES_LENGTH + " characters"));
+        }
+
         Campaign campaign = campaignRepository.findById(id.intValue()).orElse(null);
         if (campaign == null) return ResponseEntity.notFound().build();
 
+        String previous = campaign.getStatus();
         campaign.setStatus("active");
-        // Optional: store notes if you have a field
-        campaignRepository.save(campaign);
+        campaign.setReviewNotes(notes);
+        counterLock.run(() -> {
+            campaignRepository.save(campaign);
+            statsService.onStatusChange(previous, campaign.getStatus());
+        });
+        progressHub.onStatusChange(campaign.getCampaignId(), campaign.getStatus());
+        responseCache.onCampaignChanged(campaign.getCampaignId());
+        searchIndex.onStatusChange(campaign.getCampaignId(), campaign.getStatus());
+        expiryScheduler.track(campaign.getCampaignId(), campaign.getEndDate());
         return ResponseEntity.ok("Campaign approved.");
     }
 ////////////// END OF APPROVE CAMPAGIN  ////////////////////
@@ -33,14 +96,125 @@ public class AdminCampaignController {
 ////////////// REJECT OF CAMPAGIN  ////////////////////
     @PutMapping("/campaigns/{id}/reject")
     public ResponseEntity<?> rejectCampaign(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        String notes = body.get("notes");
+        if (notes != null && notes.length() > MAX_NOTES_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("message", "notes must be at most " + MAX_NOTES_LENGTH + " characters"));
+        }
+
         Campaign campaign = campaignRepository.findById(id.intValue()).orElse(null);
         if (campaign == null) return ResponseEntity.notFound().build();
 
+        String previous = campaign.getStatus();
         campaign.setStatus("rejected");
-        // Optional: store notes if you have a field
-        campaignRepository.save(campaign);
+        campaign.setReviewNotes(notes);
+        counterLock.run(() -> {
+            campaignRepository.save(campaign);
+            statsService.onStatusChange(previous, campaign.getStatus());
+        });
+        progressHub.onStatusChange(campaign.getCampaignId(), campaign.getStatus());
+        responseCache.onCampaignChanged(campaign.getCampaignId());
+        searchIndex.onStatusChange(campaign.getCampaignId(), campaign.getStatus());
         return ResponseEntity.ok("Campaign rejected.");
     }
 ////////////// END OF REJECT OF CAMPAGIN  ////////////////////
 
+////////////// BULK REVIEW OF CAMPAGINS  ////////////////////
+    private static final int MAX_BULK_IDS = 1000;
+
+    public record BulkReviewRequest(List<Integer> ids, String decision, String notes) {}
+
+    @PutMapping("/campaigns/bulk")
+    public ResponseEntity<?> reviewCampaigns(@RequestBody BulkReviewRequest body) {
+        String status;
+        if ("approve".equals(body.decision())) status = "active";
+        else if ("reject".equals(body.decision())) status = "rejected";
+        else return ResponseEntity.badRequest().body(Map.of("message", "decision must be approve or reject"));
+
+        if (body.ids() == null || body.ids().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "ids must not be empty"));
+        }
+        Set<Integer> ids = new LinkedHashSet<>(body.ids());
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "between 1 and " + MAX_BULK_IDS + " ids are allowed"));
+        }
+        if (body.notes() != null && body.notes().length() > MAX_NOTES_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("message", "notes must be at most " + MAX_NOTES_LENGTH + " characters"));
+        }
+
+        List<CampaignReviewService.Outcome> results = counterLock.call(() -> {
+            List<CampaignReviewService.Outcome> outcomes = reviewService.review(ids, status, body.notes());
+            outcomes.stream().filter(CampaignReviewService.Outcome::changed)
+                    .forEach(r -> statsService.onStatusChange("pending", status));
+            return outcomes;
+        });
+
+        // the in-memory views are only told once the update has committed
+        int updated = 0;
+        for (CampaignReviewService.Outcome r : results) {
+            if (!r.changed()) continue;
+            updated++;
+            progressHub.onStatusChange(r.campaignId(), status);
+            responseCache.onCampaignChanged(r.campaignId());
+            searchIndex.onStatusChange(r.campaignId(), status);
+            if ("active".equals(status)) {
+                expiryScheduler.track(r.campaignId(), r.endDate());
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("decision", body.decision());
+        response.put("updated", updated);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+////////////// END OF BULK REVIEW OF CAMPAGINS  ////////////////////
+
+////////////// CACHE STATS ////////////////////
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> getCacheStats() {
+        BoundedTtlCache<?, ?> users = userDetailsService.getCache();
+        Map<String, Object> userCache = new LinkedHashMap<>();
+        userCache.put("entries", users.size());
+        userCache.put("hits", users.hitCount());
+        userCache.put("misses", users.missCount());
+        userCache.put("hitRatio", users.hitRatio());
+        userCache.put("evictions", users.evictionCount());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("campaignResponses", responseCache.stats());
+        stats.put("userDetails", userCache);
+        stats.put("hibernate", hibernateCacheStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(Role.class, Category.class, User.class);
+
+    private Map<String, Object> hibernateCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (Class<?> entity : CACHED_ENTITIES) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(entity.getName());
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("hits", region.getHitCount());
+            r.put("misses", region.getMissCount());
+            r.put("puts", region.getPutCount());
+            regions.put(entity.getSimpleName(), r);
+        }
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("hits", statistics.getQueryCacheHitCount());
+        queries.put("misses", statistics.getQueryCacheMissCount());
+        queries.put("puts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        hibernate.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        hibernate.put("regions", regions);
+        hibernate.put("queryCache", queries);
+        return hibernate;
+    }
+////////////// END OF CACHE STATS ////////////////////
+
 }
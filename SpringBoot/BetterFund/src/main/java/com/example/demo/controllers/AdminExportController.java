@@ -0,0 +1,101 @@
+package com.example.demo.controllers;
+
+import com.example.demo.services.ExportService;
+import com.example.demo.services.ExportService.Export;
+import com.example.demo.services.ExportService.Format;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+@RestController
+@RequestMapping("/api/admin/export")
+public class AdminExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    @Autowired
+    private ExportService exportService;
+
+    // one slot per export thread, taken before the response starts and released when the body is written
+    @Value("${export.threads:4}")
+    private int exportThreads;
+
+    private Semaphore exportSlots;
+
+    @PostConstruct
+    void init() {
+        exportSlots = new Semaphore(exportThreads);
+    }
+
+////////////// EXPORTS ////////////////////
+    @GetMapping("/campaigns")
+    public ResponseEntity<StreamingResponseBody> exportCampaigns(@RequestParam(defaultValue = "csv") String format) {
+        return export(Export.CAMPAIGNS, "campaigns", format);
+    }
+
+    @GetMapping("/donations")
+    public ResponseEntity<StreamingResponseBody> exportDonations(@RequestParam(defaultValue = "csv") String format) {
+        return export(Export.DONATIONS, "donations", format);
+    }
+
+    // the body is written on the MVC async pool once this returns, row by row as it is read. A busy
+    // server is refused here, before any CSV headers are set: once the body is handed to the pool,
+    // a rejection would only surface after the response had been committed as a download.
+    private ResponseEntity<StreamingResponseBody> export(Export export, String name, String format) {
+        Format f;
+        MediaType type;
+        if ("csv".equalsIgnoreCase(format)) {
+            f = Format.CSV;
+            type = TEXT_CSV;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            f = Format.NDJSON;
+            type = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+
+        if (!exportSlots.tryAcquire()) {
+            throw new TaskRejectedException("All " + exportThreads + " export slots are in use");
+        }
+        String fileName = name + "-" + LocalDate.now() + "." + f.name().toLowerCase();
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.write(export, f, out);
+            } finally {
+                exportSlots.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadFormat(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    // every export slot is taken: tell the client to come back later
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<?> handleExportsBusy(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("message", "Too many exports running, please retry shortly"));
+    }
+////////////// END OF EXPORTS ////////////////////
+}
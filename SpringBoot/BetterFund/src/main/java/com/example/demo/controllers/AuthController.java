@@ -1,13 +1,15 @@
 package com.example.demo.controllers;
 
 import com.example.demo.entities.User;
-import com.example.demo.services.CustomUserDetailsService;
+import com.example.demo.repositories.UserListView;
+import com.example.demo.services.PasswordHashingBusyException;
+import com.example.demo.services.RegistrationConflictException;
 import com.example.demo.services.UserService;
 import com.example.demo.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,9 +26,6 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
-    @Autowired
-    private CustomUserDetailsService customUserDetailsService;
-
 ///////////////////// ✅ REGISTER ENDPOINT //////////////////////////////////
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> body) {
@@ -51,11 +50,19 @@ public class AuthController {
                     .body(Map.of("success", false, "message", "Phone must be 10 digits"));
         }
 
-        User user = userService.registerAndGetUser(username, email, password, adharNo, phoneNo);
-        if (user == null) {
+        User user;
+        try {
+            user = userService.registerAndGetUser(username, email, password, adharNo, phoneNo);
+        } catch (RegistrationConflictException e) {
+            String label = switch (e.getField()) {
+                case "email" -> "Email";
+                case "adharNo" -> "Adhar";
+                default -> "Phone";
+            };
             return ResponseEntity.badRequest()
                     .body(Map.of("success", false,
-                                 "message", "Registration failed – email/adhar/phone already exists"));
+                                 "field", e.getField(),
+                                 "message", "Registration failed – " + label + " already exists"));
         }
 
         return ResponseEntity.ok(Map.of(
@@ -79,9 +86,8 @@ public class AuthController {
 
         User user = userService.loginAndGetUser(email, password);
         if (user != null) {
-            // Load UserDetails and generate JWT
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-            String token = jwtUtil.generateToken(userDetails);
+            // Generate JWT carrying user id and role, so requests need no user lookup
+            String token = jwtUtil.generateToken(user);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -101,11 +107,24 @@ public class AuthController {
         }
     }
 
-    @PreAuthorize("hasRole('ADMIN')")
+    private static final int DEFAULT_USER_PAGE_SIZE = 50;
+    private static final int MAX_USER_PAGE_SIZE = 200;
+
     @GetMapping("/admin/users")
-    public ResponseEntity<?> getAllUsers() {
-        List<User> users = userService.getAllUsers();  // fetch from service
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(defaultValue = "" + DEFAULT_USER_PAGE_SIZE) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String emailPrefix) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_USER_PAGE_SIZE));
+        List<UserListView> users = userService.listUsers(after, role, emailPrefix, pageSize);
+
+        // a full page means there may be more users: hand back the cursor for ?after=
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (users.size() == pageSize) {
+            ok.header("X-Next-Cursor", String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return ok.body(users);
     }
     
 //////////// ROLE CHANGE ENDPOINT (ADMIN ONLY) ////////////////////////
@@ -119,4 +138,12 @@ public class AuthController {
                       .body(Map.of("success", false, "message", "Role update failed"));
     }
 ////////////////////////////////////////////////////////////////////
+
+    // hashing pool saturated: fail fast and tell the client when to retry
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("success", false, "message", "Server busy, please retry shortly"));
+    }
 }
@@ -3,18 +3,46 @@ package com.example.demo.controllers;
 import com.example.demo.entities.*;
 
 import com.example.demo.repositories.*;
+import com.example.demo.repositories.PendingCampaign.DocumentLink;
+import com.example.demo.services.CampaignProgressHub;
+import com.example.demo.services.CampaignResponseCache;
+import com.example.demo.services.CampaignResponseCache.CachedResponse;
+import com.example.demo.services.CampaignSearchIndex;
+import com.example.demo.services.CounterUpdateLock;
+import com.example.demo.services.CustomUserDetailsService;
+import com.example.demo.services.DashboardStatsService;
+import com.example.demo.services.DocumentService;
+import com.example.demo.services.DocumentStore;
+import com.example.demo.services.DonationException;
+import com.example.demo.services.DonationService;
+import com.example.demo.services.LiveRaisedCounters;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.io.IOException;
+import java.io.InputStream;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -39,54 +67,100 @@ public class CampaignController {
 
     @Autowired
     private RoleRepository roleRepo;
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentStore documentStore;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private LiveRaisedCounters liveRaised;
+
+    @Autowired
+    private CampaignProgressHub progressHub;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CampaignSearchIndex searchIndex;
+
+    // serializers resolved once for the record types instead of per response
+    private ObjectWriter summaryWriter;
+    private ObjectWriter summaryPageWriter;
+
+    @PostConstruct
+    void initWriters() {
+        summaryWriter = objectMapper.writerFor(CampaignSummary.class);
+        summaryPageWriter = objectMapper.writerFor(new TypeReference<List<CampaignSummary>>() {});
+    }
     
 /////////////// GET ALL ACTIVE CAMPGINS ////////////////////////
-    @GetMapping("/active")
-    public List<Map<String, Object>> getAllActiveCampaigns() {
-        List<Campaign> activeCampaigns = campaignRepo.findByStatus("active");
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
+    @GetMapping("/active")
+    public ResponseEntity<byte[]> getAllActiveCampaigns(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) Integer limit,
+            @RequestParam(required = false) Integer categoryId,
+            WebRequest request) throws IOException {
+        // Pure read: expiry and target completion are applied by CampaignExpiryScheduler.
+        // The end-date filter hides campaigns that lapsed since its last tick.
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
         LocalDate today = LocalDate.now();
+        String cacheKey = CampaignResponseCache.listingKey(today.toEpochDay(), after, pageSize, categoryId);
 
-        // Auto-complete campaigns
-        for (Campaign c : activeCampaigns) {
-            boolean expired = c.getEndDate().isBefore(today);
-            boolean targetReached = c.getWallet().getAmount() >= c.getTargetAmt();
-
-            if (expired || targetReached) {
-                c.setStatus("completed");
-                campaignRepo.save(c);
-            }
+        CachedResponse cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            return request.checkNotModified(cached.etag(), cached.lastModified()) ? null : cachedBody(cached);
+        }
+        long generation = responseCache.generation();
+
+        // Conditional GET: answered from the change markers before any row is loaded
+        CampaignVersionView version = campaignRepo.findListVersion("active", today, after, categoryId);
+        String etag = versionTag(version, today.toEpochDay());
+        long lastModified = lastModifiedMillis(version);
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
         }
-        
-
-        // Return only still-active
-        List<Campaign> filtered = campaignRepo.findByStatus("active");
 
-        return filtered.stream().map(campaign -> {
-            Map<String, Object> response = new HashMap<>();
-            response.put("campaignId", campaign.getCampaignId());
-            response.put("title", campaign.getTitle());
-            response.put("description", campaign.getDescription());
-            response.put("startDate", campaign.getStartDate());
-            response.put("endDate", campaign.getEndDate());
-            response.put("targetAmt", campaign.getTargetAmt());
-            response.put("status", campaign.getStatus());
+        List<CampaignSummary> page = campaignRepo.findSummaryPage(
+                "active", today, after, categoryId, Limit.of(pageSize));
 
-            Map<String, Object> userMap = new HashMap<>();
-            userMap.put("username", campaign.getUser().getUsername());
-            response.put("user", userMap);
+        List<CampaignSummary> body = page.stream().map(this::withLiveAmount).toList();
 
-            Map<String, Object> categoryMap = new HashMap<>();
-            categoryMap.put("categoryId", campaign.getCategory().getCategoryId());
-            categoryMap.put("cname", campaign.getCategory().getCname());
-            response.put("category", categoryMap);
+        // A full page means there may be more rows: hand back the cursor for ?after=
+        // and only the ids up to it can change this page; otherwise any later id can.
+        boolean full = page.size() == pageSize;
+        String nextCursor = full ? String.valueOf(page.get(page.size() - 1).campaignId()) : null;
+        int lastId = full ? page.get(page.size() - 1).campaignId() : Integer.MAX_VALUE;
 
-            Map<String, Object> walletMap = new HashMap<>();
-            walletMap.put("amount", campaign.getWallet().getAmount());
-            response.put("wallet", walletMap);
+        cached = new CachedResponse(summaryPageWriter.writeValueAsBytes(body), etag, lastModified, nextCursor,
+                after + 1, lastId);
+        responseCache.put(generation, cacheKey, cached);
+        return cachedBody(cached);
+    }
 
-            return response;
-        }).collect(Collectors.toList());
+    // wallet amount from the live counters; package-private so the benchmarks module can reach it
+    CampaignSummary withLiveAmount(CampaignSummary campaign) {
+        return campaign.withRaised(liveRaised.raised(campaign.campaignId(), (float) campaign.wallet().amount()));
     }
 
 /////////////////// END OF ACTIVE CAMPGINS //////////////////////
@@ -94,45 +168,177 @@ public class CampaignController {
     
 /////////////// GET  ACTIVE CAMPGINS BY ID////////////////////////    
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getCampaignById(@PathVariable Integer id) {
-        Optional<Campaign> optionalCampaign = campaignRepo.findById(id);
+    public ResponseEntity<byte[]> getCampaignById(@PathVariable Integer id, WebRequest request) throws IOException {
+        String cacheKey = CampaignResponseCache.detailKey(id);
+        CachedResponse cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            return request.checkNotModified(cached.etag(), cached.lastModified()) ? null : cachedBody(cached);
+        }
+        long generation = responseCache.generation();
 
-        if (optionalCampaign.isEmpty()) {
+        CampaignVersionView version = campaignRepo.findVersion(id);
+        if (version.getCount() == 0) {
             return ResponseEntity.notFound().build();
         }
+        String etag = versionTag(version, liveRaised.raisedPaise(id));
+        long lastModified = lastModifiedMillis(version);
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
 
-        Campaign campaign = optionalCampaign.get();
-        Map<String, Object> response = new HashMap<>();
+        Optional<CampaignSummary> campaign = campaignRepo.findSummary(id);
+        if (campaign.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
 
-        response.put("campaignId", campaign.getCampaignId());
-        response.put("title", campaign.getTitle());
-        response.put("description", campaign.getDescription());
+        byte[] body = summaryWriter.writeValueAsBytes(withLiveAmount(campaign.get()));
+        cached = new CachedResponse(body, etag, lastModified, null, id, id);
+        responseCache.put(generation, cacheKey, cached);
+        return cachedBody(cached);
+    }
+    
+/////////////// END OF ACTIVE CAMPGINS BY ID////////////////////////  
+
+    // Strong ETag from the row count and latest campaign/wallet modification, plus
+    // whatever else the response depends on (the day for listings, live paise for one campaign)
+    private static String versionTag(CampaignVersionView version, long extra) {
+        return "\"" + Long.toHexString(version.getCount())
+                + "-" + Long.toHexString(epochMicros(version.getCampaignModified()))
+                + "-" + Long.toHexString(epochMicros(version.getWalletModified()))
+                + "-" + Long.toHexString(extra) + "\"";
+    }
+
+    private static ResponseEntity<byte[]> cachedBody(CachedResponse cached) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache());
+        if (cached.nextCursor() != null) {
+            ok.header("X-Next-Cursor", cached.nextCursor());
+        }
+        return ok.body(cached.body());
+    }
 
-        response.put("startDate", campaign.getStartDate());
-        response.put("endDate", campaign.getEndDate());
-        response.put("targetAmt", campaign.getTargetAmt());
-        response.put("status", campaign.getStatus());
+    private static long lastModifiedMillis(CampaignVersionView version) {
+        LocalDateTime latest = version.getCampaignModified();
+        LocalDateTime wallet = version.getWalletModified();
+        if (latest == null || (wallet != null && wallet.isAfter(latest))) {
+            latest = wallet;
+        }
+        return latest == null ? -1 : latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 
-        // Minimal User Info
-        Map<String, Object> userMap = new HashMap<>();
-        userMap.put("username", campaign.getUser().getUsername());
-        response.put("user", userMap);
+    private static long epochMicros(LocalDateTime time) {
+        return time == null ? 0 : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
 
-        // Minimal Category Info
-        Map<String, Object> categoryMap = new HashMap<>();
-        categoryMap.put("categoryId", campaign.getCategory().getCategoryId());
-        categoryMap.put("cname", campaign.getCategory().getCname());
-        response.put("category", categoryMap);
+    
+/////////////// SEARCH CAMPAIGNS ////////////////////////
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+
+    // status defaults to active; pass status=all to search every status
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchCampaigns(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(defaultValue = "active") String status,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_SIZE) Integer limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        CampaignSearchIndex.Result result = searchIndex.search(
+                q, "all".equalsIgnoreCase(status) ? null : status, categoryId, pageSize);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (CampaignSearchIndex.Hit hit : result.hits()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("campaignId", hit.campaignId());
+            item.put("title", hit.title());
+            item.put("status", hit.status());
 
-        // Wallet Info
-        Map<String, Object> walletMap = new HashMap<>();
-        walletMap.put("amount", campaign.getWallet().getAmount());
-        response.put("wallet", walletMap);
+            Map<String, Object> categoryMap = new HashMap<>();
+            categoryMap.put("categoryId", hit.categoryId());
+            categoryMap.put("cname", searchIndex.categoryName(hit.categoryId()));
+            item.put("category", categoryMap);
+            results.add(item);
+        }
 
+        List<Map<String, Object>> categories = new ArrayList<>();
+        result.categoryCounts().forEach((id, count) -> {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("categoryId", id);
+            facet.put("cname", searchIndex.categoryName(id));
+            facet.put("count", count);
+            categories.add(facet);
+        });
+
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("categories", categories);
+        facets.put("statuses", result.statusCounts());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", result.total());
+        response.put("results", results);
+        response.put("facets", facets);
         return ResponseEntity.ok(response);
     }
+/////////////// END OF SEARCH CAMPAIGNS ////////////////////////
+
+
+/////////////// LIVE CAMPAIGN PROGRESS ////////////////////////
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCampaignProgress(@PathVariable Integer id) {
+        SseEmitter emitter = progressHub.subscribe(id);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+/////////////// END OF LIVE CAMPAIGN PROGRESS ////////////////////////
+
+
+/////////////// STREAM CAMPAIGN DOCUMENT ////////////////////////
+    @GetMapping("/{id}/document")
+    public void getCampaignDocument(@PathVariable Integer id,
+                                    @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                    HttpServletResponse response) throws IOException {
+        if (!documentService.streamCampaignDocument(id, range, response)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+/////////////// END OF STREAM CAMPAIGN DOCUMENT ////////////////////////
+
     
-/////////////// END OF ACTIVE CAMPGINS BY ID////////////////////////  
+/////////////// DONATE TO CAMPAIGN ////////////////////////
+    @PostMapping("/{id}/donate")
+    public CompletableFuture<ResponseEntity<?>> donate(@PathVariable Integer id, @RequestBody Map<String, Object> body) {
+        Float amount;
+        try {
+            amount = body.get("amount") == null ? null : Float.valueOf(body.get("amount").toString());
+        } catch (NumberFormatException e) {
+            amount = null;
+        }
+
+        // completes once the donation is committed (immediately, or with its batch)
+        return donationService.donateAsync(id, amount).handle((receipt, ex) -> {
+            if (ex == null) {
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "message", "Successfully donated ₹" + receipt.amount(),
+                        "donationId", receipt.donationId()));
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof DonationException e)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(Map.of("success", false, "message", "Donation could not be processed, please retry"));
+            }
+            HttpStatus status = switch (e.getReason()) {
+                case CAMPAIGN_NOT_FOUND -> HttpStatus.NOT_FOUND;
+                case EXCEEDS_TARGET -> HttpStatus.CONFLICT;
+                default -> HttpStatus.BAD_REQUEST;
+            };
+            return ResponseEntity.status(status)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        });
+    }
+/////////////// END OF DONATE TO CAMPAIGN ////////////////////////
 
     
 /////////////// CREATE CAMPAIGN ////////////////////////  
@@ -155,13 +361,19 @@ public class CampaignController {
                 .orElseThrow(() -> new RuntimeException("Campaign Creator role not found"));
         user.setRole(campaignCreatorRole);
         userRepo.save(user);
+        userDetailsService.evict(user.getEmail());
 
         Category category = categoryRepo.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
-        // Save document
+        // Save document: content goes to the document store, the row keeps its hash
+        DocumentStore.StoredDocument stored;
+        try (InputStream in = documentFile.getInputStream()) {
+            stored = documentStore.store(in);
+        }
         Documents doc = new Documents();
-        doc.setDocuments(documentFile.getBytes());
+        doc.setSha256(stored.sha256());
+        doc.setFileSize(stored.size());
         doc.setFileName(documentFile.getOriginalFilename());
         doc.setContentType(documentFile.getContentType());
         docRepo.save(doc);
@@ -186,7 +398,14 @@ public class CampaignController {
         campaign.setWallet(wallet);
         campaign.setDocument(doc);
         campaign.setStatus("pending");
-        campaignRepo.save(campaign);
+        counterLock.run(() -> {
+            campaignRepo.save(campaign);
+            statsService.onCampaignCreated(campaign.getStatus());
+        });
+        liveRaised.register(campaign.getCampaignId(), wallet.getAmount());
+        responseCache.onCampaignChanged(campaign.getCampaignId());
+        searchIndex.add(campaign.getCampaignId(), title, description, campaign.getStatus(),
+                category.getCategoryId(), category.getCname());
 
         return ResponseEntity.ok("Request for campaign creation successful!");
     }
@@ -197,24 +416,7 @@ public class CampaignController {
 /////////////// GET DASHBORD STATS ///////////////////////////    
     @GetMapping("/admin/dashboard-stats")
     public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-
-        long totalCampaigns = campaignRepo.count();
-        long activeCampaigns = campaignRepo.countByStatus("active");
-
-        List<Campaign> allCampaigns = campaignRepo.findAll();
-        float totalRaised = 0f;
-        for (Campaign c : allCampaigns) {
-            if (c.getWallet() != null && c.getWallet().getAmount() != null) {
-                totalRaised += c.getWallet().getAmount();
-            }
-        }
-
-        stats.put("totalCampaigns", totalCampaigns);
-        stats.put("activeCampaigns", activeCampaigns);
-        stats.put("totalRaised", totalRaised);
-
-        return stats;
+        return statsService.snapshot();
     }
 /////////////// END OF GET DASHBORD STATS ///////////////////////////  
   
@@ -222,51 +424,31 @@ public class CampaignController {
 ////////////// FETCH PENDING CAMPAIGNS FOR ADMIN ////////////////////
     @GetMapping("/admin/pending-campaigns")
     public ResponseEntity<?> getPendingCampaigns() {
-        List<Map<String, Object>> list = campaignRepo.findByStatus("pending")
+        // document metadata only; the file itself is fetched from /{id}/document
+        Map<Integer, DocumentInfoView> docs = docRepo.findInfoByCampaignStatus("pending")
+                .stream()
+                .collect(Collectors.toMap(DocumentInfoView::getCampaignId, d -> d));
+
+        List<PendingCampaign> list = campaignRepo.findForReview("pending")
                 .stream()
                 .map(c -> {
-                    Map<String, Object> m = mapToDto(c);
-                    if (c.getDocument() != null) {
-                        String fileName = "document_" + c.getCampaignId() + ".pdf";
-                        String base64 = Base64.getEncoder()
-                                .encodeToString(c.getDocument().getDocuments());
-                        m.put("documents",
-                                List.of(Map.of("name", fileName, "content", base64)));
+                    DocumentInfoView doc = docs.get(c.campaignId());
+                    List<DocumentLink> links = null;
+                    if (doc != null) {
+                        String fileName = doc.getFileName() != null
+                                ? doc.getFileName()
+                                : "document_" + c.campaignId() + ".pdf";
+                        links = List.of(new DocumentLink(fileName, doc.getContentType(),
+                                DocumentService.documentUrl(c.campaignId())));
                     }
-                    return m;
+                    return c.with(liveRaised.raised(c.campaignId(), (float) c.wallet().amount()), links);
                 })
-                .collect(Collectors.toList());
+                .toList();
         return ResponseEntity.ok(list);
     }
 
     
     //////////////END OF  PENDING CAMPAIGNS FOR ADMIN ////////////////////
-
-    private Map<String, Object> mapToDto(Campaign c) {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        dto.put("campaignId", c.getCampaignId());
-        dto.put("title", c.getTitle());
-        dto.put("startDate", c.getStartDate());
-        dto.put("endDate", c.getEndDate());
-        dto.put("targetAmt", c.getTargetAmt());
-        dto.put("status", c.getStatus());
-
-        Map<String, Object> user = new HashMap<>();
-        user.put("username", c.getUser().getUsername());
-        user.put("email", c.getUser().getEmail());
-        dto.put("user", user);
-
-        Map<String, Object> cat = new HashMap<>();
-        cat.put("categoryId", c.getCategory().getCategoryId());
-        cat.put("cname", c.getCategory().getCname());
-        dto.put("category", cat);
-
-        Map<String, Object> wallet = new HashMap<>();
-        wallet.put("amount", c.getWallet().getAmount());
-        dto.put("wallet", wallet);
-
-        return dto;
-    }
 }
 
 
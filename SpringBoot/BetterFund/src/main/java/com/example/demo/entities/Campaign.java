@@ -3,6 +3,8 @@ package com.example.demo.entities;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -40,9 +42,19 @@ public class Campaign {
     private Wallet wallet;
 
 
-    @OneToOne
+    // lazy so that loading a campaign never drags the document blob along
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "document_id")
+    @JsonIgnore
     private Documents document;
+
+    // bumped on every change; versions the ETag / Last-Modified of the campaign endpoints
+    @JsonIgnore
+    private LocalDateTime lastModified;
+
+    // admin's notes from the last approve/reject
+    @Column(name = "review_notes", length = 1000)
+    private String reviewNotes;
     
     
 
@@ -142,5 +154,27 @@ public class Campaign {
 		this.document = document;
 	}
 
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	public String getReviewNotes() {
+		return reviewNotes;
+	}
+
+	public void setReviewNotes(String reviewNotes) {
+		this.reviewNotes = reviewNotes;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		lastModified = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
     
 }
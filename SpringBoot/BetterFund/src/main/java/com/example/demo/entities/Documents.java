@@ -2,6 +2,7 @@ package com.example.demo.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.LazyGroup;
 
 @Entity
 public class Documents {
@@ -10,14 +11,25 @@ public class Documents {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer documentId;
 
+    // legacy content column; new uploads live in the DocumentStore.
+    // Left out of the SELECT until read, thanks to bytecode enhancement (see pom.xml)
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
+    @JsonIgnore
     private byte[] documents;
 
+    @Column(length = 64)
+    private String sha256;
+
+    private Long fileSize;
+
     private String fileName;
 
     private String contentType;
 
-    @OneToOne(mappedBy = "document")
+    // the inverse side cannot be proxied, so this is lazy only with bytecode enhancement too
+    @OneToOne(mappedBy = "document", fetch = FetchType.LAZY)
     @JsonIgnore
     private Campaign campaign;
 
@@ -41,6 +53,22 @@ public class Documents {
         this.documents = documents;
     }
 
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
     public String getFileName() {
         return fileName;
     }
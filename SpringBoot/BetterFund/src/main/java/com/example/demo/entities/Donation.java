@@ -0,0 +1,73 @@
+package com.example.demo.entities;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+@Entity
+public class Donation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer donationId;
+
+    private Float amount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaignid", nullable = false)
+    @JsonIgnore
+    private Campaign campaign;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id", nullable = false)
+    @JsonIgnore
+    private Wallet wallet;
+
+    private LocalDateTime donationTime;
+
+	public Donation() {
+		super();
+	}
+
+	public Integer getDonationId() {
+		return donationId;
+	}
+
+	public void setDonationId(Integer donationId) {
+		this.donationId = donationId;
+	}
+
+	public Float getAmount() {
+		return amount;
+	}
+
+	public void setAmount(Float amount) {
+		this.amount = amount;
+	}
+
+	public Campaign getCampaign() {
+		return campaign;
+	}
+
+	public void setCampaign(Campaign campaign) {
+		this.campaign = campaign;
+	}
+
+	public Wallet getWallet() {
+		return wallet;
+	}
+
+	public void setWallet(Wallet wallet) {
+		this.wallet = wallet;
+	}
+
+	public LocalDateTime getDonationTime() {
+		return donationTime;
+	}
+
+	public void setDonationTime(LocalDateTime donationTime) {
+		this.donationTime = donationTime;
+	}
+}
@@ -1,5 +1,9 @@
 package com.example.demo.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,6 +15,9 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name="user")
+@Cacheable
+// read-mostly: a concurrent write may briefly serve the old row, then invalidates it
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class User {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
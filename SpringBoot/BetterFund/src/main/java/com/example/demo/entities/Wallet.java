@@ -1,6 +1,8 @@
 package com.example.demo.entities;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -23,6 +25,10 @@ public class Wallet {
     private Float curBalance;
     private LocalDate creationDate;
 
+    // bumped on every change; versions the ETag / Last-Modified of the campaign endpoints
+    @JsonIgnore
+    private LocalDateTime lastModified;
+
     @OneToOne(mappedBy = "wallet")
     @JsonBackReference
     private Campaign campaign;
@@ -85,5 +91,19 @@ public class Wallet {
 		this.campaign = campaign;
 	}
 
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		lastModified = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
     
 }
@@ -0,0 +1,14 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Campaign id and end date only, used to seed the expiry schedule without
+ * loading whole campaign rows.
+ */
+public interface CampaignDeadlineView {
+
+    Integer getCampaignId();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repositories;
+
+/**
+ * A campaign's wallet amount, used to seed the live raised counters.
+ */
+public interface CampaignRaisedView {
+
+    Integer getCampaignId();
+
+    Float getAmount();
+}
@@ -2,14 +2,113 @@ package com.example.demo.repositories;
 
 import com.example.demo.entities.Campaign;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Integer> {
-	List<Campaign> findByStatus(String status);
-
 	long countByStatus(String string);
+
+	@Query("SELECT COALESCE(SUM(w.amount), 0) FROM Campaign c JOIN c.wallet w")
+	Double sumRaisedAmount();
+
+	// keyset page of campaigns in one round trip: rows after the cursor id, optionally in one category
+	@Query("SELECT new com.example.demo.repositories.CampaignSummary(c.campaignId, c.title, c.description, "
+			+ "c.startDate, c.endDate, c.targetAmt, c.status, u.username, cat.categoryId, cat.cname, w.amount) "
+			+ "FROM Campaign c JOIN c.user u JOIN c.category cat LEFT JOIN c.wallet w "
+			+ "WHERE c.status = :status AND c.endDate >= :today AND c.campaignId > :after "
+			+ "AND (:categoryId IS NULL OR cat.categoryId = :categoryId) "
+			+ "ORDER BY c.campaignId")
+	List<CampaignSummary> findSummaryPage(@Param("status") String status,
+			@Param("today") LocalDate today,
+			@Param("after") Integer after,
+			@Param("categoryId") Integer categoryId,
+			Limit limit);
+
+	@Query("SELECT new com.example.demo.repositories.CampaignSummary(c.campaignId, c.title, c.description, "
+			+ "c.startDate, c.endDate, c.targetAmt, c.status, u.username, cat.categoryId, cat.cname, w.amount) "
+			+ "FROM Campaign c JOIN c.user u JOIN c.category cat LEFT JOIN c.wallet w "
+			+ "WHERE c.campaignId = :campaignId")
+	Optional<CampaignSummary> findSummary(@Param("campaignId") Integer campaignId);
+
+	// review queue for admins, owner and category joined in instead of loaded per row
+	@Query("SELECT new com.example.demo.repositories.PendingCampaign(c.campaignId, c.title, c.startDate, "
+			+ "c.endDate, c.targetAmt, c.status, u.username, u.email, cat.categoryId, cat.cname, w.amount) "
+			+ "FROM Campaign c JOIN c.user u JOIN c.category cat LEFT JOIN c.wallet w "
+			+ "WHERE c.status = :status ORDER BY c.campaignId")
+	List<PendingCampaign> findForReview(@Param("status") String status);
+
+	// change markers only, so conditional GETs can be answered without loading the campaign
+	@Query("SELECT COUNT(c) AS count, MAX(c.lastModified) AS campaignModified, MAX(w.lastModified) AS walletModified "
+			+ "FROM Campaign c LEFT JOIN c.wallet w WHERE c.campaignId = :campaignId")
+	CampaignVersionView findVersion(@Param("campaignId") Integer campaignId);
+
+	@Query("SELECT COUNT(c) AS count, MAX(c.lastModified) AS campaignModified, MAX(w.lastModified) AS walletModified "
+			+ "FROM Campaign c LEFT JOIN c.wallet w "
+			+ "WHERE c.status = :status AND c.endDate >= :today AND c.campaignId > :after "
+			+ "AND (:categoryId IS NULL OR c.category.categoryId = :categoryId)")
+	CampaignVersionView findListVersion(@Param("status") String status,
+			@Param("today") LocalDate today,
+			@Param("after") Integer after,
+			@Param("categoryId") Integer categoryId);
+
+	@Query("SELECT c.campaignId AS campaignId, w.walletId AS walletId, c.targetAmt AS targetAmt, c.status AS status "
+			+ "FROM Campaign c JOIN c.wallet w WHERE c.campaignId = :campaignId")
+	Optional<DonationTargetView> findDonationTarget(@Param("campaignId") Integer campaignId);
+
+	@Query("SELECT c.campaignId AS campaignId, w.amount AS amount FROM Campaign c JOIN c.wallet w")
+	List<CampaignRaisedView> findRaisedAmounts();
+
+	@Query("SELECT c.campaignId AS campaignId, c.status AS status, c.targetAmt AS targetAmt, w.amount AS amount "
+			+ "FROM Campaign c LEFT JOIN c.wallet w WHERE c.campaignId IN :ids")
+	List<CampaignStatusView> findStatuses(@Param("ids") Collection<Integer> ids);
+
+	@Query("SELECT c.campaignId AS campaignId, c.title AS title, c.description AS description, c.status AS status, "
+			+ "cat.categoryId AS categoryId, cat.cname AS cname FROM Campaign c JOIN c.category cat")
+	List<CampaignSearchView> findSearchDocuments();
+
+	@Query("SELECT c.campaignId AS campaignId, c.title AS title, c.description AS description, c.status AS status, "
+			+ "cat.categoryId AS categoryId, cat.cname AS cname FROM Campaign c JOIN c.category cat "
+			+ "WHERE c.lastModified >= :since")
+	List<CampaignSearchView> findSearchDocumentsModifiedSince(@Param("since") LocalDateTime since);
+
+	@Query("SELECT c.campaignId AS campaignId, c.endDate AS endDate FROM Campaign c WHERE c.status = 'active'")
+	List<CampaignDeadlineView> findActiveDeadlines();
+
+	// locks the rows so the per-id outcome of a bulk review matches what reviewPending changes
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c.campaignId AS campaignId, c.status AS status, c.endDate AS endDate "
+			+ "FROM Campaign c WHERE c.campaignId IN :ids")
+	List<CampaignReviewView> lockForReview(@Param("ids") Collection<Integer> ids);
+
+	// set-based approve/reject; rows that are no longer pending are left alone
+	@Modifying
+	@Query("UPDATE Campaign c SET c.status = :status, c.reviewNotes = :notes, c.lastModified = :now "
+			+ "WHERE c.campaignId IN :ids AND c.status = 'pending'")
+	int reviewPending(@Param("ids") Collection<Integer> ids,
+			@Param("status") String status,
+			@Param("notes") String notes,
+			@Param("now") LocalDateTime now);
+
+	// set-based completion of every active campaign that is past its end date or fully funded
+	@Modifying
+	@Transactional
+	@Query("UPDATE Campaign c SET c.status = 'completed', c.lastModified = :now WHERE c.status = 'active' "
+			+ "AND (c.endDate < :today OR EXISTS "
+			+ "(SELECT w FROM Wallet w WHERE w = c.wallet AND w.amount >= c.targetAmt))")
+	int completeDueCampaigns(@Param("today") LocalDate today, @Param("now") LocalDateTime now);
 }
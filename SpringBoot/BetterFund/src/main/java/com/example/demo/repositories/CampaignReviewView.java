@@ -0,0 +1,16 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Status and end date of a campaign under review, as locked by a bulk
+ * approve/reject before it updates the rows.
+ */
+public interface CampaignReviewView {
+
+    Integer getCampaignId();
+
+    String getStatus();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,20 @@
+package com.example.demo.repositories;
+
+/**
+ * The searchable text and facet fields of a campaign, used to build the
+ * in-memory search index.
+ */
+public interface CampaignSearchView {
+
+    Integer getCampaignId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getStatus();
+
+    Integer getCategoryId();
+
+    String getCname();
+}
@@ -0,0 +1,15 @@
+package com.example.demo.repositories;
+
+/**
+ * Status and target of a campaign, as pushed to live progress subscribers.
+ */
+public interface CampaignStatusView {
+
+    Integer getCampaignId();
+
+    String getStatus();
+
+    Float getTargetAmt();
+
+    Float getAmount();
+}
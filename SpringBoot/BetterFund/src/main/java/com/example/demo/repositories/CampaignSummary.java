@@ -0,0 +1,35 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * A campaign as the home page and detail view render it, read in one
+ * round trip through a JPQL constructor expression.
+ *
+ * Serializes to the same JSON as the maps it replaces:
+ * {@code {campaignId, title, ..., user: {username}, category: {categoryId, cname}, wallet: {amount}}}.
+ */
+public record CampaignSummary(Integer campaignId, String title, String description,
+                              LocalDate startDate, LocalDate endDate, Float targetAmt, String status,
+                              Owner user, CategoryRef category, Raised wallet) {
+
+    public record Owner(String username) {}
+
+    public record CategoryRef(Integer categoryId, String cname) {}
+
+    /** Amount raised in rupees; a campaign without a wallet row reads 0. */
+    public record Raised(double amount) {}
+
+    // flat column order of the constructor expression in CampaignRepository
+    public CampaignSummary(Integer campaignId, String title, String description,
+                           LocalDate startDate, LocalDate endDate, Float targetAmt, String status,
+                           String username, Integer categoryId, String cname, Float amount) {
+        this(campaignId, title, description, startDate, endDate, targetAmt, status,
+                new Owner(username), new CategoryRef(categoryId, cname), new Raised(amount == null ? 0 : amount));
+    }
+
+    public CampaignSummary withRaised(double amount) {
+        return new CampaignSummary(campaignId, title, description, startDate, endDate, targetAmt, status,
+                user, category, new Raised(amount));
+    }
+}
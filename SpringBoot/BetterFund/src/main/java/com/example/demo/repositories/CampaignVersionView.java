@@ -0,0 +1,16 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change markers of one campaign or of a filtered set of campaigns: how many
+ * rows matched and the latest modification of the campaigns and their wallets.
+ */
+public interface CampaignVersionView {
+
+    Long getCount();
+
+    LocalDateTime getCampaignModified();
+
+    LocalDateTime getWalletModified();
+}
@@ -0,0 +1,15 @@
+package com.example.demo.repositories;
+
+/**
+ * Document metadata for a campaign, without the file content.
+ */
+public interface DocumentInfoView {
+
+    Integer getCampaignId();
+
+    Integer getDocumentId();
+
+    String getFileName();
+
+    String getContentType();
+}
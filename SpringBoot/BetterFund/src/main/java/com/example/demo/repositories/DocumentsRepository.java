@@ -1,8 +1,19 @@
 package com.example.demo.repositories;
 
 import com.example.demo.entities.Documents;
+
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DocumentsRepository extends JpaRepository<Documents, Integer> {}
+public interface DocumentsRepository extends JpaRepository<Documents, Integer> {
+
+	@Query("SELECT c.campaignId AS campaignId, d.documentId AS documentId, "
+			+ "d.fileName AS fileName, d.contentType AS contentType "
+			+ "FROM Campaign c JOIN c.document d WHERE c.status = :status")
+	List<DocumentInfoView> findInfoByCampaignStatus(@Param("status") String status);
+}
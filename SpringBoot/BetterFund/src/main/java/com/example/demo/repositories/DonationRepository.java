@@ -0,0 +1,10 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.Donation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DonationRepository extends JpaRepository<Donation, Integer> {
+	long countByCampaign_CampaignId(Integer campaignId);
+}
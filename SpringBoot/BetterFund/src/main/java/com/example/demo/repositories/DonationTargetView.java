@@ -0,0 +1,16 @@
+package com.example.demo.repositories;
+
+/**
+ * What a donation needs to know about its campaign: the wallet to credit,
+ * the cap and whether the campaign accepts money.
+ */
+public interface DonationTargetView {
+
+    Integer getCampaignId();
+
+    Integer getWalletId();
+
+    Float getTargetAmt();
+
+    String getStatus();
+}
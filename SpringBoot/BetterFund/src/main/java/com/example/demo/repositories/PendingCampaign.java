@@ -0,0 +1,35 @@
+package com.example.demo.repositories;
+
+import com.example.demo.repositories.CampaignSummary.CategoryRef;
+import com.example.demo.repositories.CampaignSummary.Raised;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A campaign awaiting review, as listed for admins: the owner's email is
+ * included and the supporting document is linked, not embedded.
+ * {@code documents} is left out of the JSON when the campaign has none.
+ */
+public record PendingCampaign(Integer campaignId, String title, LocalDate startDate, LocalDate endDate,
+                              Float targetAmt, String status, Owner user, CategoryRef category, Raised wallet,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) List<DocumentLink> documents) {
+
+    public record Owner(String username, String email) {}
+
+    public record DocumentLink(String name, String contentType, String url) {}
+
+    // flat column order of the constructor expression in CampaignRepository
+    public PendingCampaign(Integer campaignId, String title, LocalDate startDate, LocalDate endDate,
+                           Float targetAmt, String status, String username, String email,
+                           Integer categoryId, String cname, Float amount) {
+        this(campaignId, title, startDate, endDate, targetAmt, status, new Owner(username, email),
+                new CategoryRef(categoryId, cname), new Raised(amount == null ? 0 : amount), null);
+    }
+
+    public PendingCampaign with(double raised, List<DocumentLink> documents) {
+        return new PendingCampaign(campaignId, title, startDate, endDate, targetAmt, status, user, category,
+                new Raised(raised), documents);
+    }
+}
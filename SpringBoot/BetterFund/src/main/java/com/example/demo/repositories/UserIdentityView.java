@@ -0,0 +1,13 @@
+package com.example.demo.repositories;
+
+/**
+ * The unique identity columns of a user, used to warm the registration filters.
+ */
+public interface UserIdentityView {
+
+    String getEmail();
+
+    String getAdharNo();
+
+    String getPhoneNo();
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repositories;
+
+/**
+ * The columns the admin user listing shows; no password hash or identity numbers.
+ */
+public interface UserListView {
+
+    Integer getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    Integer getRoleId();
+
+    String getRoleName();
+}
@@ -1,7 +1,12 @@
 package com.example.demo.repositories;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.demo.entities.User;
 
@@ -16,4 +21,19 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     boolean existsByEmail(String email);
     boolean existsByAdharNo(String adharNo);
     boolean existsByPhoneNo(String phoneNo);
-}
\ No newline at end of file
+
+    // identity columns only, streamed to warm the registration Bloom filters
+    @Query("SELECT u.email AS email, u.adharNo AS adharNo, u.phoneNo AS phoneNo FROM User u")
+    Stream<UserIdentityView> streamIdentityKeys();
+
+    // keyset page of the admin listing; emailPrefix is a LIKE pattern escaped with '!'
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, r.id AS roleId, r.name AS roleName "
+            + "FROM User u JOIN u.role r "
+            + "WHERE u.id > :after AND (:role IS NULL OR r.name = :role) "
+            + "AND (:emailPrefix IS NULL OR u.email LIKE :emailPrefix ESCAPE '!') "
+            + "ORDER BY u.id")
+    List<UserListView> findListPage(@Param("after") Integer after,
+            @Param("role") String role,
+            @Param("emailPrefix") String emailPrefix,
+            Limit limit);
+}
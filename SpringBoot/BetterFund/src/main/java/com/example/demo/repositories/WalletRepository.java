@@ -1,8 +1,25 @@
 package com.example.demo.repositories;
 
 import com.example.demo.entities.Wallet;
+
+import java.time.LocalDateTime;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface WalletRepository extends JpaRepository<Wallet, Integer> {}
+public interface WalletRepository extends JpaRepository<Wallet, Integer> {
+
+	// atomic, capped credit: no read-modify-write, so concurrent donations cannot lose updates
+	@Modifying
+	@Query("UPDATE Wallet w SET w.amount = w.amount + :amount, w.curBalance = w.curBalance + :amount, "
+			+ "w.lastModified = :now "
+			+ "WHERE w.walletId = :walletId AND w.amount + :amount <= :target")
+	int addFunds(@Param("walletId") Integer walletId,
+			@Param("amount") Float amount,
+			@Param("target") Float target,
+			@Param("now") LocalDateTime now);
+}
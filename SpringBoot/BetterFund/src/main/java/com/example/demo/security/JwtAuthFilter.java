@@ -2,14 +2,19 @@ package com.example.demo.security;
 
 import com.example.demo.services.CustomUserDetailsService;
 import com.example.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -26,20 +31,32 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    // true: build the Authentication from the token's role claim, no user lookup.
+    // false: re-check every request against the (cached) database user.
+    @Value("${security.jwt.trust-claims:false}")
+    private boolean trustClaims;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
                                     throws ServletException, IOException {
 
+        // time spent on the token alone, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "none";
+
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwtToken = authHeader.substring(7);
+            String jwtToken = authHeader.substring(7);
+            outcome = "rejected";
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                claims = jwtUtil.parseClaims(jwtToken);
             } catch (ExpiredJwtException e) {
                 logger.warn("JWT Token has expired");
             } catch (Exception e) {
@@ -47,9 +64,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolveUser(claims);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
@@ -57,9 +75,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                outcome = "authenticated";
             }
         }
 
+        sample.stop(meterRegistry.timer("security.jwt.filter", "outcome", outcome));
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(Claims claims) {
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        if (trustClaims && role != null) {
+            // signature and expiry were verified by parseClaims
+            return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(role)
+                .build();
+        }
+
+        // tokens issued before role claims existed, or claims trust disabled
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(claims.getSubject());
+        return jwtUtil.validateToken(claims, userDetails) ? userDetails : null;
+    }
 }
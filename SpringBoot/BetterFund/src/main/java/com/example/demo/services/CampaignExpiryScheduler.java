@@ -0,0 +1,128 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignDeadlineView;
+import com.example.demo.repositories.CampaignRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Moves active campaigns to "completed" once they pass their end date or reach
+ * their target, so that read endpoints never have to write.
+ *
+ * Upcoming end dates are kept in a priority queue; the frequent tick only
+ * peeks at its head and issues the bulk UPDATE when a deadline is actually due.
+ * A slower sweep runs the same UPDATE unconditionally (wallets can be funded
+ * by the .NET service too) and rebuilds the queue from the database.
+ */
+@Service
+public class CampaignExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignExpiryScheduler.class);
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private CampaignProgressHub progressHub;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    @Autowired
+    private CampaignSearchIndex searchIndex;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    private final PriorityBlockingQueue<Deadline> deadlines = new PriorityBlockingQueue<>();
+
+    record Deadline(LocalDate endDate, Integer campaignId) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline o) {
+            int cmp = endDate.compareTo(o.endDate);
+            return cmp != 0 ? cmp : campaignId.compareTo(o.campaignId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        sweep();
+    }
+
+    /** Registers a newly activated campaign so its end date is watched. */
+    public void track(Integer campaignId, LocalDate endDate) {
+        if (campaignId != null && endDate != null) {
+            deadlines.add(new Deadline(endDate, campaignId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.expiry.tick-ms:30000}",
+               initialDelayString = "${campaign.expiry.tick-ms:30000}")
+    public void tick() {
+        LocalDate today = LocalDate.now();
+        Deadline head = deadlines.peek();
+        if (head == null || !head.endDate().isBefore(today)) {
+            return;
+        }
+        while (head != null && head.endDate().isBefore(today)) {
+            deadlines.poll();
+            head = deadlines.peek();
+        }
+        completeDue(today);
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.expiry.sweep-ms:300000}",
+               initialDelayString = "${campaign.expiry.sweep-ms:300000}")
+    public void sweep() {
+        completeDue(LocalDate.now());
+
+        // merged rather than replaced, so a campaign tracked while the query runs is not lost;
+        // only entries queued before the query can be stale
+        Set<Deadline> before = new HashSet<>(deadlines);
+        Set<Deadline> fresh = new HashSet<>();
+        for (CampaignDeadlineView v : campaignRepo.findActiveDeadlines()) {
+            if (v.getEndDate() != null) {
+                fresh.add(new Deadline(v.getEndDate(), v.getCampaignId()));
+            }
+        }
+        for (Deadline d : before) {
+            if (!fresh.contains(d)) {
+                deadlines.remove(d);
+            }
+        }
+        for (Deadline d : fresh) {
+            if (!before.contains(d)) {
+                deadlines.add(d);
+            }
+        }
+    }
+
+    private int completeDue(LocalDate today) {
+        int completed = counterLock.call(() -> {
+            int n = campaignRepo.completeDueCampaigns(today, LocalDateTime.now());
+            statsService.onCampaignsCompleted(n);
+            return n;
+        });
+        if (completed > 0) {
+            log.info("Marked {} campaign(s) as completed", completed);
+            progressHub.refreshStatuses();
+            responseCache.invalidateAll();
+            searchIndex.onCampaignsCompleted();
+        }
+        return completed;
+    }
+}
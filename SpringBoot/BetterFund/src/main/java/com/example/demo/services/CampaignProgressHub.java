@@ -0,0 +1,300 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.repositories.CampaignStatusView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of live campaign progress over Server-Sent Events.
+ *
+ * Subscribers of one campaign share a topic. A publish tick compares each
+ * subscribed campaign's live raised counter with what was last sent and, on
+ * a change, serializes one event that every subscriber of that topic
+ * receives; status changes are pushed straight away. Nothing here queries
+ * the database per client or per donation.
+ *
+ * Each subscriber has a small bounded queue drained on its own virtual
+ * thread, so a client that stops reading only blocks itself. Once its queue
+ * is full it is dropped and the browser's EventSource reconnects. Idle
+ * streams get a heartbeat comment to keep proxies from closing them.
+ */
+@Service
+public class CampaignProgressHub {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignProgressHub.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private LiveRaisedCounters liveRaised;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${campaign.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${campaign.stream.queue-capacity:16}")
+    private int queueCapacity;
+
+    private final ConcurrentHashMap<Integer, Topic> topics = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("campaign-stream-", 0).factory());
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Opens a progress stream for the given campaign and queues its current
+     * state as the first event.
+     *
+     * @return null if the campaign does not exist
+     */
+    public SseEmitter subscribe(Integer campaignId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = join(campaignId, emitter);
+        if (subscriber == null) return null;
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        subscriber.offer(subscriber.topic.current());
+        return emitter;
+    }
+
+    // adds a subscriber to the campaign's topic, creating the topic if there is none
+    private Subscriber join(Integer campaignId, SseEmitter emitter) {
+        while (true) {
+            Topic topic = topics.get(campaignId);
+            if (topic == null) {
+                List<CampaignStatusView> rows = campaignRepo.findStatuses(List.of(campaignId));
+                if (rows.isEmpty()) return null;
+                CampaignStatusView row = rows.get(0);
+                liveRaised.register(campaignId, row.getAmount());
+                topic = topics.computeIfAbsent(campaignId,
+                        id -> new Topic(id, row.getStatus(), row.getTargetAmt()));
+            }
+            Subscriber subscriber = new Subscriber(topic, emitter);
+            topic.subscribers.add(subscriber);
+            // publishTick may have removed the topic as empty just before the add; retry on its successor
+            if (topics.get(campaignId) == topic) return subscriber;
+            topic.subscribers.remove(subscriber);
+        }
+    }
+
+    /** Pushes a status change made by this service, e.g. approve or reject. */
+    public void onStatusChange(Integer campaignId, String status) {
+        Topic topic = topics.get(campaignId);
+        if (topic != null) {
+            topic.status = status;
+            topic.publishIfChanged();
+        }
+    }
+
+    /**
+     * Re-reads the status of every subscribed campaign, for bulk updates that
+     * do not say which campaigns they touched.
+     */
+    public void refreshStatuses() {
+        if (topics.isEmpty()) return;
+        for (CampaignStatusView row : campaignRepo.findStatuses(List.copyOf(topics.keySet()))) {
+            onStatusChange(row.getCampaignId(), row.getStatus());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.stream.publish-ms:250}")
+    public void publishTick() {
+        for (Topic topic : topics.values()) {
+            if (topic.subscribers.isEmpty()) {
+                topics.computeIfPresent(topic.campaignId, (id, t) -> t.subscribers.isEmpty() ? null : t);
+            } else {
+                topic.publishIfChanged();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${campaign.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Topic topic : topics.values()) {
+            for (Subscriber s : topic.subscribers) {
+                s.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return topics.values().stream().mapToInt(t -> t.subscribers.size()).sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // streams never finish on their own; end them before graceful shutdown waits on them
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        for (Topic topic : topics.values()) {
+            topic.subscribers.forEach(s -> s.emitter.complete());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private final class Topic {
+        final Integer campaignId;
+        final Float targetAmt;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        volatile String status;
+
+        // last published state, guarded by lock (not synchronized, so virtual threads never pin here)
+        private final ReentrantLock lock = new ReentrantLock();
+        private long sentPaise = -1;
+        private String sentStatus;
+        private Set<DataWithMediaType> sentEvent;
+
+        Topic(Integer campaignId, String status, Float targetAmt) {
+            this.campaignId = campaignId;
+            this.status = status;
+            this.targetAmt = targetAmt;
+        }
+
+        // a newer state reaches every subscriber, this one included, on the next tick
+        Set<DataWithMediaType> current() {
+            lock.lock();
+            try {
+                return sentEvent != null ? sentEvent : buildEvent();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void publishIfChanged() {
+            Set<DataWithMediaType> event;
+            lock.lock();
+            try {
+                if (sentEvent != null && !isStale()) return;
+                event = buildEvent();
+            } finally {
+                lock.unlock();
+            }
+            for (Subscriber s : subscribers) {
+                s.offer(event);
+            }
+        }
+
+        private boolean isStale() {
+            return sentPaise != raisedPaise() || !Objects.equals(status, sentStatus);
+        }
+
+        private long raisedPaise() {
+            return Math.round(liveRaised.raised(campaignId, null) * 100);
+        }
+
+        private Set<DataWithMediaType> buildEvent() {
+            sentPaise = raisedPaise();
+            sentStatus = status;
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("campaignId", campaignId);
+            data.put("amount", sentPaise / 100.0);
+            data.put("targetAmt", targetAmt);
+            data.put("status", sentStatus);
+            try {
+                sentEvent = SseEmitter.event()
+                        .name("progress")
+                        .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            return sentEvent;
+        }
+    }
+
+    private final class Subscriber {
+        final Topic topic;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Set<DataWithMediaType>> pending;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Topic topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closed) return;
+            if (!pending.offer(event)) {
+                dropped.increment();
+                log.debug("Dropping slow progress subscriber of campaign {}", topic.campaignId);
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed && (event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // an offer may have raced with the end of the loop
+            if (!closed && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+            topic.subscribers.remove(this);
+        }
+    }
+}
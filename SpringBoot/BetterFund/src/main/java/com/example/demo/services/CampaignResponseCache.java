@@ -0,0 +1,106 @@
+package com.example.demo.services;
+
+import com.example.demo.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized bodies of the campaign detail and active listing responses.
+ *
+ * Each entry records the range of campaign ids it was built from, so a change
+ * to one campaign evicts only its detail and the listing pages whose range
+ * covers it. Writers call {@link #onCampaignChanged} after their change is
+ * visible. Bulk changes that do not report ids clear everything.
+ *
+ * A reader that started building a response before an eviction must not
+ * store it afterwards, or the stale body would outlive the eviction; every
+ * eviction therefore bumps a generation that {@link #put} checks.
+ */
+@Service
+public class CampaignResponseCache {
+
+    /**
+     * A cached response body with its validators. Covers campaign ids
+     * {@code firstId..lastId}, both inclusive.
+     */
+    public record CachedResponse(byte[] body, String etag, long lastModified, String nextCursor,
+                                 int firstId, int lastId) {
+
+        boolean covers(int campaignId) {
+            return campaignId >= firstId && campaignId <= lastId;
+        }
+    }
+
+    private final BoundedTtlCache<String, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CampaignResponseCache(@Value("${campaign.response-cache.max-entries:2000}") int maxEntries,
+                                 @Value("${campaign.response-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public static String detailKey(Integer campaignId) {
+        return "detail:" + campaignId;
+    }
+
+    public static String listingKey(long epochDay, Integer after, int limit, Integer categoryId) {
+        return "active:" + epochDay + ":" + after + ":" + limit + ":" + categoryId;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.get(key);
+    }
+
+    /** Read before building a response; pass to {@link #put}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Stores the response unless an eviction happened since {@code startGeneration}. */
+    public void put(long startGeneration, String key, CachedResponse response) {
+        if (generation.get() == startGeneration) {
+            cache.put(key, response);
+            // an eviction may have slipped in between the check and the put
+            if (generation.get() != startGeneration) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    public void onCampaignChanged(Integer campaignId) {
+        generation.incrementAndGet();
+        int id = campaignId;
+        cache.invalidateIf((key, response) -> response.covers(id));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.size());
+        stats.put("bytes", cache.weigh(r -> r.body().length));
+        stats.put("hits", cache.hitCount());
+        stats.put("misses", cache.missCount());
+        stats.put("hitRatio", cache.hitRatio());
+        stats.put("evictions", cache.evictionCount());
+        return stats;
+    }
+
+    public BoundedTtlCache<String, CachedResponse> getCache() {
+        return cache;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void cleanUpCache() {
+        cache.cleanUp();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.repositories.CampaignReviewView;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approves or rejects many pending campaigns in one transaction.
+ *
+ * The requested rows are locked and read once, then changed by a single
+ * set-based UPDATE that only touches campaigns still pending. Holding the
+ * locks until commit makes the reported outcome for each id exactly what the
+ * UPDATE did, even while another admin reviews the same campaigns.
+ */
+@Service
+public class CampaignReviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignReviewService.class);
+
+    /**
+     * What happened to one campaign: {@code approved}/{@code rejected},
+     * {@code skipped} when it was not pending ({@code status} says what it
+     * is), or {@code not_found}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Outcome(Integer campaignId, String outcome, String status,
+                          @JsonIgnore LocalDate endDate) {
+
+        public boolean changed() {
+            return "approved".equals(outcome) || "rejected".equals(outcome);
+        }
+    }
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * @param ids    distinct campaign ids, in the order outcomes are reported
+     * @param status {@code active} to approve, {@code rejected} to reject
+     */
+    public List<Outcome> review(Collection<Integer> ids, String status, String notes) {
+        String done = "active".equals(status) ? "approved" : "rejected";
+        return transactionTemplate.execute(tx -> {
+            Map<Integer, CampaignReviewView> current = new HashMap<>();
+            for (CampaignReviewView v : campaignRepo.lockForReview(ids)) {
+                current.put(v.getCampaignId(), v);
+            }
+
+            int updated = campaignRepo.reviewPending(ids, status, notes,
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+            List<Outcome> outcomes = new ArrayList<>(ids.size());
+            int pending = 0;
+            for (Integer id : ids) {
+                CampaignReviewView v = current.get(id);
+                if (v == null) {
+                    outcomes.add(new Outcome(id, "not_found", null, null));
+                } else if ("pending".equals(v.getStatus())) {
+                    outcomes.add(new Outcome(id, done, null, v.getEndDate()));
+                    pending++;
+                } else {
+                    outcomes.add(new Outcome(id, "skipped", v.getStatus(), null));
+                }
+            }
+            if (updated != pending) {
+                // cannot happen while the rows are locked; roll back rather than report wrong outcomes
+                log.error("Bulk review updated {} row(s) but {} were pending", updated, pending);
+                throw new IllegalStateException("Campaigns changed during review, nothing was updated");
+            }
+            return outcomes;
+        });
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignDeadlineView;
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.repositories.CampaignSearchView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over campaign titles and descriptions.
+ *
+ * Every lower-cased word maps to a sorted int array of campaign ids. A query
+ * intersects the postings of its words; the last word also matches as a
+ * prefix so partially typed queries find results. Status and category are
+ * kept per campaign for filtering and facet counts, so a search never reads
+ * the database.
+ *
+ * Built once at startup and then kept current by the write paths: new
+ * campaigns are added, status changes update their document. Campaigns
+ * written elsewhere (another instance, a manual fix) are picked up by a
+ * periodic refresh that re-reads every campaign whose {@code last_modified}
+ * is at or after the previous refresh, less an overlap for clock skew and
+ * transactions that committed late. The same refresh runs right after the
+ * startup load, so a status change made while the load was reading, which
+ * found no document to update, is not lost.
+ */
+@Service
+public class CampaignSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignSearchIndex.class);
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    // textHash tells a refresh whether the words need re-indexing
+    private record Doc(String title, String status, Integer categoryId, int textHash) {}
+
+    public record Hit(Integer campaignId, String title, String status, Integer categoryId) {}
+
+    public record Result(int total, List<Hit> hits, Map<Integer, Integer> categoryCounts,
+                         Map<String, Integer> statusCounts) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final HashMap<Integer, Doc> docs = new HashMap<>();
+    private final HashMap<Integer, String> categoryNames = new HashMap<>();
+    // the next refresh reads campaigns modified since this, less the overlap; null until loaded
+    private volatile LocalDateTime refreshedFrom;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        LocalDateTime loadStart = LocalDateTime.now();
+        List<CampaignSearchView> rows = campaignRepo.findSearchDocuments();
+        lock.writeLock().lock();
+        try {
+            // campaigns added or changed since the rows were read are already here and newer; keep them
+            for (CampaignSearchView row : rows) {
+                addLocked(row.getCampaignId(), row.getTitle(), row.getDescription(), row.getStatus(),
+                        row.getCategoryId(), row.getCname());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} campaign(s), {} term(s)", rows.size(), postings.size());
+        refreshedFrom = loadStart;
+        refresh();
+    }
+
+    /** Re-reads the campaigns modified since the last refresh and updates their documents. */
+    @Scheduled(fixedDelayString = "${campaign.search.refresh-ms:60000}",
+               initialDelayString = "${campaign.search.refresh-ms:60000}")
+    public void refresh() {
+        LocalDateTime from = refreshedFrom;
+        if (from == null) {
+            return; // the startup load has not run yet
+        }
+        LocalDateTime start = LocalDateTime.now();
+        List<CampaignSearchView> rows = campaignRepo.findSearchDocumentsModifiedSince(from.minus(REFRESH_OVERLAP));
+        lock.writeLock().lock();
+        try {
+            for (CampaignSearchView row : rows) {
+                updateLocked(row.getCampaignId(), row.getTitle(), row.getDescription(), row.getStatus(),
+                        row.getCategoryId(), row.getCname());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshedFrom = start;
+    }
+
+    public void add(Integer campaignId, String title, String description, String status,
+                    Integer categoryId, String cname) {
+        lock.writeLock().lock();
+        try {
+            addLocked(campaignId, title, description, status, categoryId, cname);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onStatusChange(Integer campaignId, String status) {
+        lock.writeLock().lock();
+        try {
+            Doc doc = docs.get(campaignId);
+            if (doc != null) {
+                docs.put(campaignId, new Doc(doc.title(), status, doc.categoryId(), doc.textHash()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a bulk completion: indexed campaigns that are active here but no
+     * longer active in the database are marked completed.
+     */
+    public void onCampaignsCompleted() {
+        Set<Integer> active = new HashSet<>();
+        for (CampaignDeadlineView v : campaignRepo.findActiveDeadlines()) {
+            active.add(v.getCampaignId());
+        }
+        lock.writeLock().lock();
+        try {
+            docs.replaceAll((id, doc) -> "active".equals(doc.status()) && !active.contains(id)
+                    ? new Doc(doc.title(), "completed", doc.categoryId(), doc.textHash())
+                    : doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String categoryName(Integer categoryId) {
+        lock.readLock().lock();
+        try {
+            return categoryNames.get(categoryId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds campaigns containing every word of the query, newest first.
+     * Category counts ignore the category filter and status counts ignore the
+     * status filter, so each facet shows what selecting another value yields.
+     *
+     * @param status     null for any status
+     * @param categoryId null for any category
+     */
+    public Result search(String query, String status, Integer categoryId, int limit) {
+        List<String> terms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            int[] candidates = terms.isEmpty() ? allIds() : match(terms);
+
+            List<Hit> hits = new ArrayList<>();
+            Map<Integer, Integer> categoryCounts = new LinkedHashMap<>();
+            Map<String, Integer> statusCounts = new LinkedHashMap<>();
+            int total = 0;
+            for (int i = candidates.length - 1; i >= 0; i--) {
+                Doc doc = docs.get(candidates[i]);
+                if (doc == null) continue;
+                boolean statusOk = status == null || status.equals(doc.status());
+                boolean categoryOk = categoryId == null || categoryId.equals(doc.categoryId());
+                if (statusOk) categoryCounts.merge(doc.categoryId(), 1, Integer::sum);
+                if (categoryOk) statusCounts.merge(doc.status(), 1, Integer::sum);
+                if (statusOk && categoryOk) {
+                    total++;
+                    if (hits.size() < limit) {
+                        hits.add(new Hit(candidates[i], doc.title(), doc.status(), doc.categoryId()));
+                    }
+                }
+            }
+            return new Result(total, hits, categoryCounts, statusCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Integer campaignId, String title, String description, String status,
+                           Integer categoryId, String cname) {
+        Doc doc = new Doc(title, status, categoryId, Objects.hash(title, description));
+        if (docs.putIfAbsent(campaignId, doc) != null) {
+            return; // already indexed
+        }
+        if (categoryId != null && cname != null) {
+            categoryNames.put(categoryId, cname);
+        }
+        indexWordsLocked(campaignId, title, description);
+    }
+
+    // the database row wins: it is at least as new as what the write paths applied before it was read
+    private void updateLocked(Integer campaignId, String title, String description, String status,
+                              Integer categoryId, String cname) {
+        Doc old = docs.get(campaignId);
+        if (old == null) {
+            addLocked(campaignId, title, description, status, categoryId, cname);
+            return;
+        }
+        Doc doc = new Doc(title, status, categoryId, Objects.hash(title, description));
+        docs.put(campaignId, doc);
+        if (categoryId != null && cname != null) {
+            categoryNames.put(categoryId, cname);
+        }
+        if (old.textHash() != doc.textHash()) {
+            // rare: the text was edited outside the app; a full pass over the terms is fine
+            Iterator<Postings> it = postings.values().iterator();
+            while (it.hasNext()) {
+                Postings p = it.next();
+                p.remove(campaignId);
+                if (p.size == 0) it.remove();
+            }
+            indexWordsLocked(campaignId, title, description);
+        }
+    }
+
+    private void indexWordsLocked(Integer campaignId, String title, String description) {
+        Set<String> words = new HashSet<>(tokenize(title));
+        words.addAll(tokenize(description));
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new Postings()).add(campaignId);
+        }
+    }
+
+    private int[] allIds() {
+        int[] ids = new int[docs.size()];
+        int n = 0;
+        for (Integer id : docs.keySet()) ids[n++] = id;
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // AND of the exact words, with the last word also matched as a prefix
+    private int[] match(List<String> terms) {
+        List<Postings> exact = new ArrayList<>();
+        for (int i = 0; i < terms.size() - 1; i++) {
+            Postings p = postings.get(terms.get(i));
+            if (p == null) return new int[0];
+            exact.add(p);
+        }
+        BitSet last = prefixUnion(terms.get(terms.size() - 1));
+        if (exact.isEmpty()) {
+            return last.stream().toArray();
+        }
+
+        // shortest first keeps every intermediate result small
+        exact.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = exact.get(0).toArray();
+        for (int i = 1; i < exact.size() && result.length > 0; i++) {
+            result = exact.get(i).retainIn(result);
+        }
+        int n = 0;
+        for (int id : result) {
+            if (last.get(id)) result[n++] = id;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // union of every word starting with the prefix; a bit set avoids sorting the merged ids
+    private BitSet prefixUnion(String prefix) {
+        BitSet union = new BitSet();
+        for (Postings p : postings.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            p.setBits(union);
+        }
+        return union;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /** Growable int array of campaign ids, kept sorted on append. */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) return;
+                insert(-at - 1, id);
+                return;
+            }
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        void setBits(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(ids[i]);
+            }
+        }
+
+        /** Keeps the ids of the sorted array that are also in this list, in place. */
+        int[] retainIn(int[] sorted) {
+            int i = 0, j = 0, n = 0;
+            while (i < sorted.length && j < size) {
+                if (sorted[i] < ids[j]) i++;
+                else if (sorted[i] > ids[j]) j++;
+                else {
+                    sorted[n++] = sorted[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(sorted, n);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void insert(int at, int id) {
+            ensureCapacity(size + 1);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(needed, ids.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.services;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Orders the in-memory counters ({@link DashboardStatsService},
+ * {@link LiveRaisedCounters}) against their periodic reconcile.
+ *
+ * A write path holds the shared side from before its change commits until it
+ * has applied the change to the counters, so no change is ever committed but
+ * not yet counted while a reconcile runs. A reconcile holds the exclusive side
+ * while it reads the database and overwrites the counters: every committed
+ * change is then counted exactly once, by the database read. Writes wait for
+ * the duration of the reconcile queries.
+ */
+@Service
+public class CounterUpdateLock {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Commits a change and updates the counters for it, excluding a reconcile. */
+    public <T> T call(Supplier<T> commitAndCount) {
+        lock.readLock().lock();
+        try {
+            return commitAndCount.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void run(Runnable commitAndCount) {
+        call(() -> {
+            commitAndCount.run();
+            return null;
+        });
+    }
+
+    /** Reads the database and overwrites the counters with no write in between. */
+    public void reconcile(Runnable readAndSet) {
+        lock.writeLock().lock();
+        try {
+            readAndSet.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
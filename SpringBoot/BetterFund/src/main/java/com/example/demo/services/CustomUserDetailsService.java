@@ -2,12 +2,16 @@ package com.example.demo.services;
 
 import com.example.demo.entities.User;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.util.BoundedTtlCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -15,8 +19,22 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    // email -> UserDetails; spares the user + role query on every authenticated request
+    private final BoundedTtlCache<String, UserDetails> cache;
+
+    public CustomUserDetailsService(@Value("${security.user-cache.max-size:10000}") int maxSize,
+                                    @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = cache.get(email, this::loadFromDatabase);
+        // hand out a copy: Spring Security may erase credentials on the instance it is given
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
@@ -28,4 +46,18 @@ public class CustomUserDetailsService implements UserDetailsService {
             Collections.singletonList(new SimpleGrantedAuthority(roleName))
         );
     }
+
+    /** Must be called whenever a user's role, password or email changes. */
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public BoundedTtlCache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void cleanUpCache() {
+        cache.cleanUp();
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admin dashboard counters.
+ *
+ * Seeded once from aggregate queries, then kept current by the code paths that
+ * create campaigns, change their status or add money to a wallet. A periodic
+ * reconcile re-reads the aggregates to absorb anything written outside this
+ * service (e.g. by the .NET API); those code paths commit and count inside
+ * {@link CounterUpdateLock}, so a reconcile never counts a change twice. The
+ * raised total is held in paise so that repeated additions do not accumulate
+ * float error.
+ */
+@Service
+public class DashboardStatsService {
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    private final AtomicLong totalCampaigns = new AtomicLong();
+    private final AtomicLong activeCampaigns = new AtomicLong();
+    private final AtomicLong totalRaisedPaise = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-ms:600000}",
+               initialDelayString = "${dashboard.stats.reconcile-ms:600000}")
+    public void reconcile() {
+        // no change is committed but not yet counted while this runs, so each is counted once
+        counterLock.reconcile(() -> {
+            totalCampaigns.set(campaignRepo.count());
+            activeCampaigns.set(campaignRepo.countByStatus("active"));
+            totalRaisedPaise.set(toPaise(campaignRepo.sumRaisedAmount()));
+        });
+    }
+
+    public void onCampaignCreated(String status) {
+        totalCampaigns.incrementAndGet();
+        if ("active".equals(status)) {
+            activeCampaigns.incrementAndGet();
+        }
+    }
+
+    public void onStatusChange(String from, String to) {
+        boolean wasActive = "active".equals(from);
+        boolean isActive = "active".equals(to);
+        if (!wasActive && isActive) {
+            activeCampaigns.incrementAndGet();
+        } else if (wasActive && !isActive) {
+            activeCampaigns.decrementAndGet();
+        }
+    }
+
+    public void onCampaignsCompleted(int count) {
+        if (count > 0) {
+            activeCampaigns.addAndGet(-count);
+        }
+    }
+
+    public void onDonation(double amount) {
+        totalRaisedPaise.addAndGet(toPaise(amount));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalCampaigns", totalCampaigns.get());
+        stats.put("activeCampaigns", activeCampaigns.get());
+        stats.put("totalRaised", totalRaisedPaise.get() / 100.0);
+        return stats;
+    }
+
+    private static long toPaise(Double amount) {
+        return amount == null ? 0L : Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.services;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams campaign documents to the client.
+ *
+ * Documents uploaded since the switch to {@link DocumentStore} are copied from
+ * the store with {@code transferTo}; older rows still carry their content in
+ * the blob column and are copied from the JDBC {@link Blob} in chunks. Either
+ * way no byte[] copy of the file or Base64 string is built on the heap.
+ * Single "bytes=" ranges are honoured.
+ */
+@Service
+public class DocumentService {
+
+    private static final String DOCUMENT_SQL =
+            "SELECT d.sha256, d.file_size, d.file_name, d.content_type, d.documents FROM documents d "
+          + "JOIN campaign c ON c.document_id = d.document_id WHERE c.campaign_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DocumentStore documentStore;
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(long start, long count) throws IOException, SQLException;
+    }
+
+    private record StoredRef(String sha256, long size, String fileName, String contentType) {}
+
+    public static String documentUrl(Integer campaignId) {
+        return "/api/campaign/" + campaignId + "/document";
+    }
+
+    /**
+     * Writes the document of the given campaign to the response.
+     *
+     * @return false if the campaign has no stored document
+     */
+    public boolean streamCampaignDocument(Integer campaignId, String rangeHeader,
+                                          HttpServletResponse response) throws IOException {
+        String defaultName = "document_" + campaignId;
+        Object result;
+        try {
+            result = jdbcTemplate.query(DOCUMENT_SQL, rs -> {
+                if (!rs.next()) return Boolean.FALSE;
+                String sha256 = rs.getString(1);
+                String fileName = rs.getString(3) != null ? rs.getString(3) : defaultName;
+                String contentType = rs.getString(4);
+                if (sha256 != null) {
+                    // file-backed: release the connection before streaming
+                    return new StoredRef(sha256, rs.getLong(2), fileName, contentType);
+                }
+
+                Blob blob = rs.getBlob(5);
+                if (blob == null) return Boolean.FALSE;
+                try {
+                    writeContent(fileName, contentType, blob.length(), rangeHeader, response,
+                            (start, count) -> {
+                                try (InputStream in = blob.getBinaryStream(start + 1, count)) {
+                                    in.transferTo(response.getOutputStream());
+                                }
+                            });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    blob.free();
+                }
+                return Boolean.TRUE;
+            }, campaignId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (result instanceof StoredRef ref) {
+            if (!documentStore.exists(ref.sha256())) return false;
+            try {
+                writeContent(ref.fileName(), ref.contentType(), ref.size(), rangeHeader, response,
+                        (start, count) -> documentStore.transferTo(ref.sha256(), start, count,
+                                Channels.newChannel(response.getOutputStream())));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return true;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    private void writeContent(String fileName, String contentType, long length, String rangeHeader,
+                              HttpServletResponse response, BodyWriter body) throws SQLException, IOException {
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+        if (rangeHeader != null && length > 0) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        long count = length == 0 ? 0 : end - start + 1;
+        response.setContentLengthLong(count);
+        if (count > 0) {
+            body.write(start, count);
+        }
+    }
+}
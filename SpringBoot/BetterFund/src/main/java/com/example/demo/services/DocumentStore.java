@@ -0,0 +1,22 @@
+package com.example.demo.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Storage for uploaded campaign documents, addressed by the SHA-256 of their
+ * content. Only the hash, size and content type are kept in the DOCUMENTS table.
+ */
+public interface DocumentStore {
+
+    record StoredDocument(String sha256, long size) {}
+
+    /** Stores the stream's content; identical content is stored only once. */
+    StoredDocument store(InputStream content) throws IOException;
+
+    boolean exists(String sha256);
+
+    /** Copies {@code count} bytes starting at {@code position} to the target channel. */
+    void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,325 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.DonationTargetView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit for donations.
+ *
+ * Callers enqueue a donation and get a future. A single writer thread drains
+ * the queue once {@code batch-size} donations are waiting or {@code linger-ms}
+ * has passed since the first one, then in one transaction: credits each
+ * wallet once with the sum of its accepted donations, inserts all DONATION
+ * rows in one JDBC batch, and commits. Every caller's future is completed
+ * after the commit. One fsync is thus shared by a whole batch.
+ *
+ * Donations that would take a wallet past its campaign target are rejected
+ * individually, in arrival order, before anything is written.
+ *
+ * A donation still queued after {@code timeout-ms} is withdrawn and its
+ * future fails with a {@link TimeoutException}: it is never written, so the
+ * caller may safely retry. Once the writer has taken a donation into a batch
+ * it can no longer be withdrawn and its future waits for the commit.
+ */
+@Service
+public class DonationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationBatcher.class);
+
+    private static final String WALLET_AMOUNTS_SQL = "SELECT wallet_id, amount FROM wallet WHERE wallet_id IN (%s)";
+    private static final String CREDIT_WALLET_SQL =
+            "UPDATE wallet SET amount = amount + ?, cur_balance = cur_balance + ?, last_modified = ? "
+          + "WHERE wallet_id = ? AND amount + ? <= ?";
+    private static final String INSERT_DONATION_SQL =
+            "INSERT INTO donation (amount, campaignid, wallet_id, donation_time) VALUES (?, ?, ?, ?)";
+
+    // taken is set once, by the writer (to write it) or by the timeout (to withdraw it)
+    private record Pending(Integer campaignId, Integer walletId, float amount, float target,
+                           CompletableFuture<DonationReceipt> result, AtomicBoolean taken) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private LiveRaisedCounters liveRaised;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long timeoutMillis;
+    private final BlockingQueue<Pending> queue;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public DonationBatcher(@Value("${donation.batching.enabled:false}") boolean enabled,
+                           @Value("${donation.batching.batch-size:200}") int batchSize,
+                           @Value("${donation.batching.linger-ms:5}") long lingerMillis,
+                           @Value("${donation.batching.queue-capacity:10000}") int queueCapacity,
+                           @Value("${donation.batching.timeout-ms:10000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.timeoutMillis = timeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<DonationReceipt> submit(DonationTargetView target, float amount) {
+        CompletableFuture<DonationReceipt> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(stopped());
+            return result;
+        }
+        ensureStarted();
+        Pending p = new Pending(target.getCampaignId(), target.getWalletId(), amount, target.getTargetAmt(),
+                result, new AtomicBoolean());
+        if (!queue.offer(p)) {
+            result.completeExceptionally(new IllegalStateException("Donation queue is full"));
+        } else if (!running && queue.remove(p)) {
+            // the writer stopped while this was being queued and will not see it
+            result.completeExceptionally(stopped());
+        } else {
+            CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() -> withdraw(p));
+        }
+        return result;
+    }
+
+    // the writer skips a withdrawn donation, so failing it here is a definite "not written"
+    private void withdraw(Pending p) {
+        if (p.taken().compareAndSet(false, true)) {
+            p.result().completeExceptionally(new TimeoutException(
+                    "Donation was not written within " + timeoutMillis + " ms and has been withdrawn"));
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Donation writer has stopped");
+    }
+
+    private void ensureStarted() {
+        if (started.compareAndSet(false, true)) {
+            writer = new Thread(this::drainLoop, "donation-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                // from here on a donation is written or answered by the writer, never withdrawn
+                batch.removeIf(p -> !p.taken().compareAndSet(false, true));
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                // no more polling: answer the drained batch now and the queue below
+                Thread.currentThread().interrupt();
+                running = false;
+                batch.forEach(p -> p.result().completeExceptionally(stopped()));
+                break;
+            } catch (RuntimeException e) {
+                log.error("Donation batch of {} failed", batch.size(), e);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // whatever is still queued will never be written; fail it so no caller waits forever
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(p -> p.result().completeExceptionally(stopped()));
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Pending> accepted = new ArrayList<>();
+        List<Integer> donationIds = new ArrayList<>();
+        List<Pending> rejected = new ArrayList<>();
+        Set<Integer> changed = new HashSet<>();
+        counterLock.run(() -> {
+            transactionTemplate.executeWithoutResult(tx -> write(batch, accepted, donationIds, rejected));
+
+            // committed: publish the new totals, then answer the callers
+            for (Pending p : accepted) {
+                statsService.onDonation(p.amount());
+                liveRaised.add(p.campaignId(), p.amount());
+                changed.add(p.campaignId());
+            }
+        });
+        changed.forEach(responseCache::onCampaignChanged);
+        for (int i = 0; i < accepted.size(); i++) {
+            Pending p = accepted.get(i);
+            Integer id = i < donationIds.size() ? donationIds.get(i) : null;
+            p.result().complete(new DonationReceipt(id, p.campaignId(), p.amount()));
+        }
+        for (Pending p : rejected) {
+            p.result().completeExceptionally(new DonationException(
+                    DonationException.Reason.EXCEEDS_TARGET, "Donation exceeds target amount."));
+        }
+    }
+
+    // runs inside the batch transaction
+    private void write(List<Pending> batch, List<Pending> accepted, List<Integer> donationIds,
+                       List<Pending> rejected) {
+        Map<Integer, List<Pending>> byWallet = batch.stream()
+                .collect(Collectors.groupingBy(Pending::walletId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Integer, Float> current = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(byWallet.size(), "?"));
+        jdbcTemplate.query(String.format(WALLET_AMOUNTS_SQL, placeholders),
+                rs -> { current.put(rs.getInt(1), rs.getFloat(2)); },
+                byWallet.keySet().toArray());
+
+        // admit donations per wallet in arrival order while the running total fits the target
+        List<Integer> walletIds = new ArrayList<>();
+        List<Float> increments = new ArrayList<>();
+        List<Float> targets = new ArrayList<>();
+        Map<Integer, List<Pending>> admitted = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<Pending>> e : byWallet.entrySet()) {
+            float base = current.getOrDefault(e.getKey(), Float.NaN);
+            float sum = 0f;
+            List<Pending> ok = new ArrayList<>();
+            for (Pending p : e.getValue()) {
+                if (!Float.isNaN(base) && base + sum + p.amount() <= p.target()) {
+                    sum += p.amount();
+                    ok.add(p);
+                } else {
+                    rejected.add(p);
+                }
+            }
+            if (!ok.isEmpty()) {
+                walletIds.add(e.getKey());
+                increments.add(sum);
+                targets.add(ok.get(0).target());
+                admitted.put(e.getKey(), ok);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = jdbcTemplate.batchUpdate(CREDIT_WALLET_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setFloat(1, increments.get(i));
+                ps.setFloat(2, increments.get(i));
+                ps.setTimestamp(3, now);
+                ps.setInt(4, walletIds.get(i));
+                ps.setFloat(5, increments.get(i));
+                ps.setFloat(6, targets.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return walletIds.size();
+            }
+        });
+
+        // a wallet credited concurrently outside the batch may no longer fit; reject its donations
+        for (int i = 0; i < walletIds.size(); i++) {
+            List<Pending> ok = admitted.get(walletIds.get(i));
+            if (updated[i] == 0) {
+                rejected.addAll(ok);
+            } else {
+                accepted.addAll(ok);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_DONATION_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Pending p = accepted.get(i);
+                        ps.setFloat(1, p.amount());
+                        ps.setInt(2, p.campaignId());
+                        ps.setInt(3, p.walletId());
+                        ps.setTimestamp(4, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accepted.size();
+                    }
+                },
+                keys);
+
+        for (Map<String, Object> key : keys.getKeyList()) {
+            Object id = key.values().stream().findFirst().orElse(null);
+            donationIds.add(id instanceof Number n ? n.intValue() : null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.services;
+
+/**
+ * A donation that was not applied, with the reason.
+ */
+public class DonationException extends RuntimeException {
+
+    public enum Reason {
+        INVALID_AMOUNT,
+        CAMPAIGN_NOT_FOUND,
+        CAMPAIGN_NOT_ACTIVE,
+        EXCEEDS_TARGET
+    }
+
+    private final Reason reason;
+
+    public DonationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
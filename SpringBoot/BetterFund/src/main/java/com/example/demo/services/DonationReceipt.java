@@ -0,0 +1,7 @@
+package com.example.demo.services;
+
+/**
+ * Result of an applied donation.
+ */
+public record DonationReceipt(Integer donationId, Integer campaignId, Float amount) {
+}
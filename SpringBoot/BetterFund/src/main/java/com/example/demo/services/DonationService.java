@@ -0,0 +1,134 @@
+package com.example.demo.services;
+
+import com.example.demo.entities.Donation;
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.repositories.DonationRepository;
+import com.example.demo.repositories.DonationTargetView;
+import com.example.demo.repositories.WalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies donations to campaign wallets.
+ *
+ * The wallet is credited with one conditional UPDATE that adds the amount
+ * only while the total stays within the target. Concurrent donations to the
+ * same campaign therefore neither lose increments nor overshoot the target,
+ * and no row is read and written back.
+ */
+@Service
+public class DonationService {
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private WalletRepository walletRepo;
+
+    @Autowired
+    private DonationRepository donationRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private LiveRaisedCounters liveRaised;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    @Autowired
+    private DonationBatcher batcher;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    /**
+     * Validates and applies a donation. With {@code donation.batching.enabled}
+     * the write is handed to {@link DonationBatcher} and the future completes
+     * when its batch commits; otherwise it is committed before returning.
+     * Rejections complete the future with a {@link DonationException}. A
+     * batched donation the writer has not taken within
+     * {@code donation.batching.timeout-ms} is withdrawn and fails with a
+     * {@link TimeoutException}; it is never written.
+     */
+    public CompletableFuture<DonationReceipt> donateAsync(Integer campaignId, Float amount) {
+        DonationTargetView target;
+        try {
+            target = validate(campaignId, amount);
+        } catch (DonationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (batcher.isEnabled()) {
+            return batcher.submit(target, amount);
+        }
+        try {
+            return CompletableFuture.completedFuture(applyNow(target, amount));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public DonationReceipt donate(Integer campaignId, Float amount) {
+        try {
+            // bounded: a batched donation is withdrawn after its timeout
+            return donateAsync(campaignId, amount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private DonationTargetView validate(Integer campaignId, Float amount) {
+        if (amount == null || !(amount > 0) || amount.isInfinite()) {
+            throw new DonationException(DonationException.Reason.INVALID_AMOUNT, "Invalid donation amount.");
+        }
+
+        DonationTargetView target = campaignRepo.findDonationTarget(campaignId)
+                .orElseThrow(() -> new DonationException(
+                        DonationException.Reason.CAMPAIGN_NOT_FOUND, "Campaign not found."));
+        if (!"active".equals(target.getStatus())) {
+            throw new DonationException(DonationException.Reason.CAMPAIGN_NOT_ACTIVE,
+                    "Campaign is not accepting donations.");
+        }
+        return target;
+    }
+
+    // one transaction per donation
+    private DonationReceipt applyNow(DonationTargetView target, Float amount) {
+        Donation donation = counterLock.call(() -> applyAndCount(target, amount));
+        responseCache.onCampaignChanged(target.getCampaignId());
+        return new DonationReceipt(donation.getDonationId(), target.getCampaignId(), amount);
+    }
+
+    private Donation applyAndCount(DonationTargetView target, Float amount) {
+        Donation donation = transactionTemplate.execute(tx -> {
+            int updated = walletRepo.addFunds(target.getWalletId(), amount, target.getTargetAmt(), LocalDateTime.now());
+            if (updated == 0) {
+                throw new DonationException(DonationException.Reason.EXCEEDS_TARGET,
+                        "Donation exceeds target amount.");
+            }
+
+            Donation d = new Donation();
+            d.setAmount(amount);
+            d.setCampaign(campaignRepo.getReferenceById(target.getCampaignId()));
+            d.setWallet(walletRepo.getReferenceById(target.getWalletId()));
+            d.setDonationTime(LocalDateTime.now());
+            return donationRepo.save(d);
+        });
+
+        statsService.onDonation(amount);
+        liveRaised.add(target.getCampaignId(), amount);
+        return donation;
+    }
+}
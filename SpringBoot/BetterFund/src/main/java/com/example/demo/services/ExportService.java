@@ -0,0 +1,168 @@
+package com.example.demo.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Full exports for finance, written row by row as CSV or NDJSON.
+ *
+ * Rows are read through a forward-only, read-only statement with the
+ * configured fetch size. On MySQL the default, {@code Integer.MIN_VALUE},
+ * makes Connector/J stream rows one at a time instead of buffering the whole
+ * result, so heap use does not grow with the table. Each row is written to
+ * the output as soon as it is read. The connection is held for the whole
+ * export.
+ */
+@Service
+public class ExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    public enum Export {
+        CAMPAIGNS("SELECT c.campaign_id, c.title, c.status, cat.cname AS category, u.uname AS owner, "
+                + "u.email AS owner_email, c.start_date, c.end_date, c.target_amt, w.amount AS raised, "
+                + "w.cur_balance AS balance, c.last_modified "
+                + "FROM campaign c LEFT JOIN category cat ON cat.category_id = c.category_id "
+                + "LEFT JOIN user u ON u.user_id = c.user_id LEFT JOIN wallet w ON w.wallet_id = c.wallet_id "
+                + "ORDER BY c.campaign_id"),
+        DONATIONS("SELECT d.donation_id, d.donation_time, d.amount, d.campaignid AS campaign_id, "
+                + "c.title AS campaign_title, d.wallet_id "
+                + "FROM donation d LEFT JOIN campaign c ON c.campaign_id = d.campaignid "
+                + "ORDER BY d.donation_id");
+
+        private final String sql;
+
+        Export(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Integer.MIN_VALUE is MySQL's row-by-row streaming mode; other drivers need a positive batch size
+    @Value("${export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    /** Writes every row of the export to {@code out}; the caller owns the stream. */
+    public void write(Export export, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(export.sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                try {
+                    if (format == Format.NDJSON) {
+                        writeNdjson(rs, writer);
+                    } else {
+                        writeCsv(rs, writer);
+                    }
+                } catch (IOException e) {
+                    // most often the client went away
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) writer.write(',');
+            writer.write(meta.getColumnLabel(i).toLowerCase());
+        }
+        writer.write("\r\n");
+
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) writer.write(',');
+                Object value = value(rs, i);
+                if (value != null) {
+                    writer.write(csvField(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private void writeNdjson(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] names = new String[columns];
+        for (int i = 1; i <= columns; i++) {
+            names[i - 1] = meta.getColumnLabel(i).toLowerCase();
+        }
+
+        // one generator for the whole export; it writes through to the buffered writer
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null); // rows are separated by the newline written below
+        while (rs.next()) {
+            json.writeStartObject();
+            for (int i = 1; i <= columns; i++) {
+                Object value = value(rs, i);
+                json.writeFieldName(names[i - 1]);
+                if (value == null) json.writeNull();
+                else if (value instanceof Integer n) json.writeNumber(n);
+                else if (value instanceof Long n) json.writeNumber(n);
+                else if (value instanceof BigDecimal n) json.writeNumber(n);
+                else if (value instanceof Double n) json.writeNumber(n);
+                else if (value instanceof Float n) json.writeNumber(n);
+                else json.writeString(value.toString());
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        json.flush();
+    }
+
+    // dates and timestamps as ISO-8601, like the JSON API
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Date d) return d.toLocalDate();
+        if (value instanceof Timestamp t) return t.toLocalDateTime();
+        return value;
+    }
+
+    private static String csvField(Object value) {
+        String s = value.toString();
+        // a leading formula character would be evaluated by spreadsheet software
+        if (value instanceof String && !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0) {
+            s = "'" + s;
+        }
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+        return s;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CampaignRaisedView;
+import com.example.demo.repositories.CampaignRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live amount raised per campaign, in paise.
+ *
+ * Seeded from WALLET.amount at startup and incremented by every donation
+ * this service applies, so campaign endpoints can report progress without
+ * reading the wallet row. Fixed-point paise avoid the drift of summing
+ * floats. A periodic reconcile re-reads the wallets to pick up amounts
+ * changed by other writers; {@link CounterUpdateLock} keeps it from counting
+ * a donation twice or not at all.
+ */
+@Service
+public class LiveRaisedCounters {
+
+    @Autowired
+    private CampaignRepository campaignRepo;
+
+    @Autowired
+    private CounterUpdateLock counterLock;
+
+    @Autowired
+    private CampaignResponseCache responseCache;
+
+    private final ConcurrentHashMap<Integer, LongAdder> raised = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.live-counters.reconcile-ms:600000}",
+               initialDelayString = "${campaign.live-counters.reconcile-ms:600000}")
+    public void reconcile() {
+        List<Integer> corrected = new ArrayList<>();
+        // no donation is committed but not yet added while this runs, so each is counted once
+        counterLock.reconcile(() -> {
+            for (CampaignRaisedView v : campaignRepo.findRaisedAmounts()) {
+                LongAdder counter = raised.computeIfAbsent(v.getCampaignId(), id -> new LongAdder());
+                long delta = toPaise(v.getAmount()) - counter.sum();
+                if (delta != 0) {
+                    counter.add(delta);
+                    corrected.add(v.getCampaignId());
+                }
+            }
+        });
+        // cached bodies still carry the old amounts
+        corrected.forEach(responseCache::onCampaignChanged);
+    }
+
+    /** Adds a committed donation; call inside {@link CounterUpdateLock#call}. */
+    public void add(Integer campaignId, float amount) {
+        raised.computeIfAbsent(campaignId, id -> new LongAdder()).add(toPaise(amount));
+    }
+
+    /** Starts tracking a campaign, e.g. right after it is created. */
+    public void register(Integer campaignId, Float amount) {
+        raised.computeIfAbsent(campaignId, id -> {
+            LongAdder counter = new LongAdder();
+            counter.add(toPaise(amount));
+            return counter;
+        });
+    }
+
+    /**
+     * Amount raised in rupees. A campaign not seen yet is seeded from the
+     * wallet amount the caller already holds.
+     */
+    public double raised(Integer campaignId, Float walletAmount) {
+        LongAdder counter = raised.get(campaignId);
+        if (counter == null) {
+            register(campaignId, walletAmount);
+            counter = raised.get(campaignId);
+        }
+        return counter.sum() / 100.0;
+    }
+
+    /** Amount raised in paise, or -1 if the campaign is not tracked yet. */
+    public long raisedPaise(Integer campaignId) {
+        LongAdder counter = raised.get(campaignId);
+        return counter == null ? -1 : counter.sum();
+    }
+
+    static long toPaise(Float amount) {
+        return amount == null ? 0L : Math.round(amount * 100.0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * {@link DocumentStore} on the local filesystem.
+ *
+ * Uploads are streamed into a temp file with {@link FileChannel#transferFrom}
+ * while the digest is computed, then moved to {@code <root>/ab/cd/<sha256>}.
+ * If that file already exists the upload is a duplicate and the temp file is
+ * dropped. Reads use {@link FileChannel#transferTo}.
+ */
+@Service
+public class LocalFileDocumentStore implements DocumentStore {
+
+    private static final long CHUNK = 1 << 20;
+
+    private final Path root;
+
+    public LocalFileDocumentStore(@Value("${documents.store.root:data/documents}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath();
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public StoredDocument store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            long size = 0;
+            try (ReadableByteChannel src = Channels.newChannel(new DigestInputStream(content, digest));
+                 FileChannel dst = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long n;
+                while ((n = dst.transferFrom(src, size, CHUNK)) > 0) {
+                    size += n;
+                }
+                dst.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // a concurrent upload of the same content won the race
+                }
+            }
+            return new StoredDocument(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return Files.exists(pathFor(sha256));
+    }
+
+    @Override
+    public void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel src = FileChannel.open(pathFor(sha256), StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long n = src.transferTo(position, end - position, target);
+                if (n <= 0) break;
+                position += n;
+            }
+        }
+    }
+
+    private Path pathFor(String sha256) {
+        if (!sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid document hash: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.services;
+
+/**
+ * Thrown when a registration collides with an existing user on a unique field
+ * ("email", "adharNo" or "phoneNo").
+ */
+public class RegistrationConflictException extends RuntimeException {
+
+    private final String field;
+
+    public RegistrationConflictException(String field) {
+        super(field + " already registered");
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.UserIdentityView;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the registered emails, Aadhaar numbers and phone numbers.
+ *
+ * A negative answer means the value is certainly unused, so registration can
+ * go straight to the insert. A positive answer may be a false positive and is
+ * confirmed with a single indexed lookup on that one field.
+ */
+@Service
+public class UserIdentityFilter {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BloomFilter emails;
+    private final BloomFilter adharNos;
+    private final BloomFilter phoneNos;
+
+    public UserIdentityFilter(@Value("${security.registration.bloom-expected:1000000}") long expected,
+                              @Value("${security.registration.bloom-fpp:0.01}") double fpp) {
+        this.emails = new BloomFilter(expected, fpp);
+        this.adharNos = new BloomFilter(expected, fpp);
+        this.phoneNos = new BloomFilter(expected, fpp);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        // closing the stream releases the JDBC result set it reads from
+        try (Stream<UserIdentityView> users = userRepository.streamIdentityKeys()) {
+            users.forEach(u -> add(u.getEmail(), u.getAdharNo(), u.getPhoneNo()));
+        }
+    }
+
+    public void add(String email, String adharNo, String phoneNo) {
+        emails.put(normalize(email));
+        adharNos.put(adharNo);
+        phoneNos.put(phoneNo);
+    }
+
+    /**
+     * Returns the first field whose value is already taken, or null. Only fields
+     * the filters flag as possibly present cost a database query.
+     */
+    public String findTakenField(String email, String adharNo, String phoneNo) {
+        if (emails.mightContain(normalize(email)) && userRepository.existsByEmail(email)) return "email";
+        if (adharNos.mightContain(adharNo) && userRepository.existsByAdharNo(adharNo)) return "adharNo";
+        if (phoneNos.mightContain(phoneNo) && userRepository.existsByPhoneNo(phoneNo)) return "phoneNo";
+        return null;
+    }
+
+    // MySQL's default collation compares emails case-insensitively
+    private static String normalize(String email) {
+        return email.toLowerCase();
+    }
+}
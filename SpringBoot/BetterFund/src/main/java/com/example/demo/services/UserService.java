@@ -3,9 +3,12 @@ package com.example.demo.services;
 import com.example.demo.entities.Role;
 import com.example.demo.entities.User;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import com.example.demo.repositories.RoleRepository;
+import com.example.demo.repositories.UserListView;
 import com.example.demo.repositories.UserRepository;
 
 import java.util.List;
@@ -16,7 +19,9 @@ public class UserService {
 
     @Autowired private UserRepository userRepository;
     @Autowired private RoleRepository roleRepository;
-    @Autowired private PasswordEncoder encoder;
+    @Autowired private PasswordHashingService hasher;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private UserIdentityFilter identityFilter;
 
     public boolean register(String name, String email, String rawPassword, String adharNo, String phoneNo) {
         // Check if user already exists
@@ -27,7 +32,7 @@ public class UserService {
         User user = new User();
         user.setUsername(name);
         user.setEmail(email);
-        user.setPassword(encoder.encode(rawPassword));
+        user.setPassword(hasher.encode(rawPassword));
         user.setAdharNo(adharNo);
         user.setPhoneNo(phoneNo);
 
@@ -48,36 +53,75 @@ public class UserService {
 
     public boolean login(String email, String rawPassword) {
         return userRepository.findByEmail(email)
-            .map(u -> encoder.matches(rawPassword, u.getPassword()))
+            .map(u -> hasher.matches(rawPassword, u.getPassword()))
             .orElse(false);
     }
     
     public User loginAndGetUser(String email, String password) {
-        return userRepository.findByEmail(email)
-                .filter(u -> encoder.matches(password, u.getPassword()))
+        User user = userRepository.findByEmail(email)
+                .filter(u -> hasher.matches(password, u.getPassword()))
                 .orElse(null);
+
+        // rehash passwords stored with an older, cheaper work factor
+        if (user != null && hasher.upgradeEncoding(user.getPassword())) {
+            user.setPassword(hasher.encode(password));
+            userRepository.save(user);
+            userDetailsService.evict(user.getEmail());
+        }
+        return user;
     }
     
+    /**
+     * Registers a Donor. Duplicates are caught by the identity Bloom filters or,
+     * failing that, by the unique constraints on the single INSERT.
+     *
+     * @throws RegistrationConflictException naming the field that is already taken
+     */
     public User registerAndGetUser(String username, String email, String password, String adharNo, String phoneNo) {
-    	if (userRepository.existsByEmail(email) || userRepository.existsByAdharNo(adharNo) || userRepository.existsByPhoneNo(phoneNo)) {
-    		return null;
+    	String taken = identityFilter.findTakenField(email, adharNo, phoneNo);
+    	if (taken != null) {
+    		throw new RegistrationConflictException(taken);
     	}
 
     	User u = new User();
     	u.setUsername(username);
     	u.setEmail(email);
-    	u.setPassword(encoder.encode(password));
+    	u.setPassword(hasher.encode(password));
     	u.setAdharNo(adharNo);
     	u.setPhoneNo(phoneNo);
 
     	Role userRole = roleRepository.findByName("Donor").orElseThrow(() -> new RuntimeException("Default role Donor not found"));
     	u.setRole(userRole);
 
-    	return userRepository.save(u);
+    	User saved;
+    	try {
+    		saved = userRepository.save(u);
+    	} catch (DataIntegrityViolationException e) {
+    		throw new RegistrationConflictException(conflictingField(e, email, adharNo, phoneNo));
+    	}
+    	identityFilter.add(email, adharNo, phoneNo);
+    	return saved;
+    }
+
+    // map a unique-constraint violation to the offending field; ask the database if the key name is not telling
+    private String conflictingField(DataIntegrityViolationException e, String email, String adharNo, String phoneNo) {
+    	String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase();
+    	if (message.contains("email")) return "email";
+    	if (message.contains("adhar_no")) return "adharNo";
+    	if (message.contains("phone_no")) return "phoneNo";
+
+    	if (userRepository.existsByEmail(email)) return "email";
+    	if (userRepository.existsByAdharNo(adharNo)) return "adharNo";
+    	if (userRepository.existsByPhoneNo(phoneNo)) return "phoneNo";
+    	throw e;
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // one keyset page for the admin listing, read as a projection rather than whole entities
+    public List<UserListView> listUsers(int after, String role, String emailPrefix, int limit) {
+        String pattern = emailPrefix == null || emailPrefix.isEmpty() ? null
+                : emailPrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return userRepository.findListPage(after, role == null || role.isEmpty() ? null : role, pattern,
+                Limit.of(limit));
     }
 
     public boolean changeRole(String targetEmail, Integer newRoleId) {
@@ -89,6 +133,7 @@ public class UserService {
 
         user.setRole(newRole);
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
         return true;
     }
 
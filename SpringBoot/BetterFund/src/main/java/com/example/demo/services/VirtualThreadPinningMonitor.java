@@ -0,0 +1,90 @@
+package com.example.demo.services;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flags virtual threads that stay pinned to their carrier, e.g. while
+ * blocking inside a {@code synchronized} block or a native frame.
+ *
+ * Listens to the JDK's {@code jdk.VirtualThreadPinned} flight recorder event
+ * in-process. Pinnings whose stack passes through this application's code are
+ * logged with the offending frames and counted, since those are the ones we
+ * can fix; pinnings inside libraries are counted only.
+ */
+@Service
+@ConditionalOnExpression("${virtual-threads.pinning-monitor.enabled:${spring.threads.virtual.enabled:false}}")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String APP_PACKAGE = "com.example.demo.";
+
+    @Value("${virtual-threads.pinning-monitor.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final LongAdder appPinned = new LongAdder();
+    private final LongAdder otherPinned = new LongAdder();
+
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", thresholdMillis);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stack = event.getStackTrace();
+        StringBuilder appFrames = new StringBuilder();
+        if (stack != null) {
+            for (RecordedFrame frame : stack.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith(APP_PACKAGE)) {
+                    appFrames.append("\n\tat ").append(type).append('.').append(frame.getMethod().getName())
+                            .append(':').append(frame.getLineNumber());
+                }
+            }
+        }
+        if (appFrames.isEmpty()) {
+            otherPinned.increment();
+            return;
+        }
+        appPinned.increment();
+        log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), appFrames);
+    }
+
+    /** Pinnings whose stack includes application code. */
+    public long getAppPinnedCount() {
+        return appPinned.sum();
+    }
+
+    public long getOtherPinnedCount() {
+        return otherPinned.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt work factor for this machine: the highest cost whose hash
+ * still completes within the target time, clamped to [minCost, maxCost].
+ */
+public final class BCryptCostTuner {
+
+    private static final String SAMPLE = "betterfund-cost-probe";
+
+    private BCryptCostTuner() {
+    }
+
+    public static int tune(long targetMillis, int minCost, int maxCost) {
+        // first hash pays for class loading and JIT, don't count it
+        new BCryptPasswordEncoder(4).encode(SAMPLE);
+
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode(SAMPLE);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetMillis && cost > minCost) {
+                break;
+            }
+            chosen = cost;
+            // each step doubles the work; stop before spending more than needed
+            if (elapsedMillis * 2 > targetMillis) {
+                break;
+            }
+        }
+        return chosen;
+    }
+}
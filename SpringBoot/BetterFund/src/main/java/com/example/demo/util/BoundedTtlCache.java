@@ -0,0 +1,209 @@
+package com.example.demo.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small in-process cache with an entry limit (least recently used entries go
+ * first) and a fixed time-to-live per entry. Keeps hit, miss and eviction
+ * counts so callers can report them.
+ *
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so that
+ * virtual threads waiting on it do not pin their carrier.
+ *
+ * A loader that started before an invalidation may return the old value, so
+ * every invalidation bumps a generation and {@link #get(Object, Function)}
+ * only stores what it loaded if the generation is unchanged.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> map;
+    // written under the lock; read without it before a load
+    private volatile long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(int maxSize, long ttl, TimeUnit unit) {
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry<V> e = map.get(key);
+            if (e != null && e.expiresAt() - now > 0) {
+                hits.increment();
+                return e.value();
+            }
+            if (e != null) {
+                map.remove(key);
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Returns the cached value, loading and caching it on a miss. Null results are not cached. */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long startGeneration = generation;
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                putIfUnchanged(startGeneration, key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        lock.lock();
+        try {
+            map.put(key, new Entry<>(value, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the caller still gets the value it loaded; it is just not kept past an invalidation
+    private void putIfUnchanged(long startGeneration, K key, V value) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        lock.lock();
+        try {
+            if (generation == startGeneration) {
+                map.put(key, new Entry<>(value, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            map.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            map.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes every entry matching the predicate; counted as evictions. */
+    public int invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        int removed = 0;
+        lock.lock();
+        try {
+            generation++;
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (predicate.test(e.getKey(), e.getValue().value())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        evictions.add(removed);
+        return removed;
+    }
+
+    /** Drops expired entries; lookups do this lazily, this is for periodic housekeeping. */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<Entry<V>> it = map.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt() - now <= 0) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Sums a per-entry weight, e.g. the retained bytes of each value. */
+    public long weigh(ToLongFunction<? super V> weigher) {
+        long total = 0;
+        lock.lock();
+        try {
+            for (Entry<V> e : map.values()) {
+                total += weigher.applyAsLong(e.value());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return total;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement executed through the pool, whether it comes from
+ * Hibernate or a {@code JdbcTemplate}, into the {@code jdbc.queries} timer.
+ *
+ * A thread can also open a {@link Tally} to count its own statements, which
+ * is how per-request query counts are taken. Tallies nest: a statement counts
+ * towards every tally open on the thread, so a test can measure a request
+ * that is also being measured by the request filter. Only the
+ * {@code execute*} calls are timed; fetching rows from the result set is not
+ * included.
+ */
+public class QueryMetricsDataSource extends DelegatingDataSource {
+
+    /** Statements executed and their total time on one thread since {@link #begin()}. */
+    public static final class Tally {
+        private final Tally outer;
+        private long count;
+        private long nanos;
+
+        private Tally(Tally outer) {
+            this.outer = outer;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+    }
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    private final Timer queries;
+
+    public QueryMetricsDataSource(DataSource target, MeterRegistry registry) {
+        super(target);
+        this.queries = Timer.builder("jdbc.queries")
+                .description("Time to execute a JDBC statement")
+                .register(registry);
+    }
+
+    /** Starts counting this thread's statements; pair with {@link #end()}. */
+    public static void begin() {
+        CURRENT.set(new Tally(CURRENT.get()));
+    }
+
+    /** Closes the innermost tally and returns it. */
+    public static Tally end() {
+        Tally tally = CURRENT.get();
+        if (tally == null || tally.outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tally.outer);
+        }
+        return tally;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement cs) {
+                        return timed(cs, CallableStatement.class);
+                    }
+                    if (result instanceof PreparedStatement ps) {
+                        return timed(ps, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement st) {
+                        return timed(st, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private Object timed(Statement target, Class<? extends Statement> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(target, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(target, method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        queries.record(elapsed, TimeUnit.NANOSECONDS);
+                        for (Tally tally = CURRENT.get(); tally != null; tally = tally.outer) {
+                            tally.count++;
+                            tally.nanos += elapsed;
+                        }
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
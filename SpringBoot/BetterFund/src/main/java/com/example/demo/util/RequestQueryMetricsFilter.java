@@ -0,0 +1,52 @@
+package com.example.demo.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many JDBC statements each request ran and how long they took,
+ * tagged like {@code http.server.requests} with the method and the matched
+ * URI pattern. Work handed to other threads is not counted.
+ */
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public RequestQueryMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryMetricsDataSource.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryMetricsDataSource.Tally tally = QueryMetricsDataSource.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("JDBC statements executed per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .maximumExpectedValue(500.0) // caps the histogram buckets when enabled
+                    .register(registry)
+                    .record(tally.count());
+            Timer.builder("http.server.requests.query.time")
+                    .description("Time spent executing JDBC statements per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry)
+                    .record(tally.nanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
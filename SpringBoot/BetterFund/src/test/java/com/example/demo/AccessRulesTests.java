@@ -0,0 +1,72 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Who may call the admin-only endpoints outside /api/admin, and the
+ * actuator endpoints.
+ */
+@SpringBootTest
+class AccessRulesTests {
+
+	@Autowired private WebApplicationContext context;
+
+	private MockMvc mvc;
+
+	// built by hand so this class shares the application context with the other tests
+	@BeforeEach
+	void setUp() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void onlyAdminsMayListUsers() throws Exception {
+		mvc.perform(get("/api/auth/admin/users?emailPrefix=a")).andExpect(status().isForbidden());
+		mvc.perform(get("/api/auth/admin/users").with(donor())).andExpect(status().isForbidden());
+		mvc.perform(get("/api/auth/admin/users")
+				.with(user("admin").authorities(new SimpleGrantedAuthority("Admin"))))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void onlyAdminsMayChangeRoles() throws Exception {
+		mvc.perform(post("/api/auth/admin/changerole?targetEmail=a@example.com&newRoleId=1"))
+				.andExpect(status().isForbidden());
+		mvc.perform(post("/api/auth/admin/changerole?targetEmail=a@example.com&newRoleId=1").with(donor()))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void onlyAdminsMayScrapeMetrics() throws Exception {
+		mvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+		mvc.perform(get("/actuator/prometheus").with(donor())).andExpect(status().isForbidden());
+		// tests run without metrics export, so the endpoint itself is absent; security let the admin through
+		mvc.perform(get("/actuator/prometheus").with(user("admin").authorities(new SimpleGrantedAuthority("Admin"))))
+				.andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()));
+	}
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	private static RequestPostProcessor donor() {
+		return user("donor").authorities(new SimpleGrantedAuthority("Donor"));
+	}
+}
@@ -0,0 +1,187 @@
+package com.example.demo;
+
+import com.example.demo.controllers.AdminExportController;
+import com.example.demo.entities.Campaign;
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.services.DonationService;
+import com.example.demo.services.ExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The finance exports: both formats, CSV quoting and formula escaping, that
+ * only admins can download them, and that a busy server refuses an export.
+ */
+@SpringBootTest
+class AdminExportTests {
+
+	private static final String FORMULA_TITLE = "=SUM(A1,A2) \"total\"";
+
+	@Autowired private WebApplicationContext context;
+	@Autowired private CampaignFixtures fixtures;
+	@Autowired private CampaignRepository campaignRepo;
+	@Autowired private DonationService donationService;
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private AdminExportController exportController;
+
+	private MockMvc mvc;
+	private Campaign campaign;
+
+	// built by hand so this class shares the application context with the other tests
+	@BeforeEach
+	void setUp() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+		campaign = fixtures.campaign("active", 1000f);
+		campaign.setTitle(FORMULA_TITLE);
+		campaign = campaignRepo.save(campaign);
+		donationService.donate(campaign.getCampaignId(), 25f);
+	}
+
+	@Test
+	void campaignsAsCsv() throws Exception {
+		MvcResult result = export("/api/admin/export/campaigns", admin());
+		assertEquals("text/csv;charset=UTF-8", result.getResponse().getContentType());
+		assertTrue(result.getResponse().getHeader("Content-Disposition").startsWith("attachment; filename=\"campaigns-"));
+
+		List<String> lines = result.getResponse().getContentAsString().lines().toList();
+		assertEquals("campaign_id,title,status,category,owner,owner_email,start_date,end_date,"
+				+ "target_amt,raised,balance,last_modified", lines.get(0));
+		// quoted for the comma and quotes, and prefixed so spreadsheets do not evaluate it
+		String row = campaign.getCampaignId() + ",\"'=SUM(A1,A2) \"\"total\"\"\",active,";
+		assertTrue(lines.stream().anyMatch(l -> l.startsWith(row)), "no row for the campaign: " + lines);
+	}
+
+	@Test
+	void campaignsAsNdjson() throws Exception {
+		MvcResult result = export("/api/admin/export/campaigns?format=ndjson", admin());
+		assertEquals("application/x-ndjson", result.getResponse().getContentType());
+
+		JsonNode row = findRow(result, "campaign_id", campaign.getCampaignId());
+		// JSON consumers get the title as stored
+		assertEquals(FORMULA_TITLE, row.get("title").asText());
+		assertEquals(25.0, row.get("raised").asDouble());
+		assertEquals(campaign.getEndDate().toString(), row.get("end_date").asText());
+	}
+
+	@Test
+	void donationsInBothFormats() throws Exception {
+		String csv = export("/api/admin/export/donations", admin()).getResponse().getContentAsString();
+		assertTrue(csv.startsWith("donation_id,donation_time,amount,campaign_id,campaign_title,wallet_id\r\n"));
+		assertTrue(csv.contains(",25.0," + campaign.getCampaignId() + ",\"'=SUM(A1,A2) \"\"total\"\"\","), csv);
+
+		JsonNode row = findRow(export("/api/admin/export/donations?format=ndjson", admin()),
+				"campaign_id", campaign.getCampaignId());
+		assertEquals(25.0, row.get("amount").asDouble());
+	}
+
+	@Test
+	void unknownFormatIsRejected() throws Exception {
+		mvc.perform(get("/api/admin/export/campaigns?format=xml").with(admin()))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().json("{\"message\":\"format must be csv or ndjson\"}"));
+	}
+
+	@Test
+	void onlyAdminsMayExport() throws Exception {
+		mvc.perform(get("/api/admin/export/campaigns")).andExpect(status().isForbidden());
+		mvc.perform(get("/api/admin/export/donations")
+				.with(user("donor").authorities(new SimpleGrantedAuthority("Donor"))))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void exportBeyondTheLimitIsRefusedBeforeStreaming() throws Exception {
+		Semaphore slots = (Semaphore) ReflectionTestUtils.getField(exportController, "exportSlots");
+		ExportService exportService = (ExportService) ReflectionTestUtils.getField(exportController, "exportService");
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExportService blocking = mock(ExportService.class);
+		doAnswer(inv -> {
+			writing.countDown();
+			release.await(10, TimeUnit.SECONDS);
+			return null;
+		}).when(blocking).write(any(), any(), any());
+
+		// as with export.threads=1: one slot, held by an export that is still streaming
+		int spare = slots.availablePermits() - 1;
+		slots.acquire(spare);
+		ReflectionTestUtils.setField(exportController, "exportService", blocking);
+		try {
+			MvcResult first = mvc.perform(get("/api/admin/export/campaigns").with(admin()))
+					.andExpect(request().asyncStarted()).andReturn();
+			assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+			mvc.perform(get("/api/admin/export/donations").with(admin()))
+					.andExpect(request().asyncNotStarted())
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string("Retry-After", "30"))
+					.andExpect(header().doesNotExist("Content-Disposition"))
+					.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+					.andExpect(content().json("{\"message\":\"Too many exports running, please retry shortly\"}"));
+
+			release.countDown();
+			mvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+		} finally {
+			release.countDown();
+			ReflectionTestUtils.setField(exportController, "exportService", exportService);
+			slots.release(spare);
+		}
+
+		// the finished export gave its slot back
+		export("/api/admin/export/donations", admin());
+	}
+
+	private static RequestPostProcessor admin() {
+		return user("admin").authorities(new SimpleGrantedAuthority("Admin"));
+	}
+
+	// the body is written asynchronously: start the request, then collect the dispatched result
+	private MvcResult export(String url, RequestPostProcessor caller) throws Exception {
+		MvcResult started = mvc.perform(get(url).with(caller)).andExpect(request().asyncStarted()).andReturn();
+		return mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-store"))
+				.andReturn();
+	}
+
+	private JsonNode findRow(MvcResult result, String idField, int id) throws Exception {
+		List<JsonNode> rows = new ArrayList<>();
+		for (String line : result.getResponse().getContentAsString().split("\n")) {
+			rows.add(objectMapper.readTree(line));
+		}
+		return rows.stream().filter(r -> r.get(idField).asInt() == id).findFirst()
+				.orElseThrow(() -> new AssertionError("no row with " + idField + "=" + id));
+	}
+}
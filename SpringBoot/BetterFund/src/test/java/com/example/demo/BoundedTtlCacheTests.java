@@ -0,0 +1,38 @@
+package com.example.demo;
+
+import com.example.demo.util.BoundedTtlCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A value loaded across an invalidation is returned to its caller but not
+ * cached, so the next lookup loads the current value.
+ */
+class BoundedTtlCacheTests {
+
+	private final BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 1, TimeUnit.MINUTES);
+
+	@Test
+	void valueLoadedBeforeAnInvalidationIsNotCached() {
+		AtomicInteger loads = new AtomicInteger();
+		// the role changes (and the entry is evicted) while the old row is being read
+		String stale = cache.get("a@example.com", key -> {
+			loads.incrementAndGet();
+			cache.invalidate(key);
+			return "Donor";
+		});
+		assertEquals("Donor", stale);
+
+		assertEquals("Admin", cache.get("a@example.com", key -> {
+			loads.incrementAndGet();
+			return "Admin";
+		}));
+		assertEquals(2, loads.get());
+		// loaded with no invalidation in between: cached
+		assertEquals("Admin", cache.get("a@example.com", key -> "unused"));
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import com.example.demo.entities.*;
+import com.example.demo.repositories.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Saves campaigns for tests. Every campaign gets its own creator, category
+ * and wallet, with unique email, Adhar and phone numbers, so tests sharing
+ * the application context never collide. A test that needs several
+ * campaigns in one category passes a {@link #category()} in.
+ */
+@Component
+public class CampaignFixtures {
+
+	@Autowired private RoleRepository roleRepo;
+	@Autowired private UserRepository userRepo;
+	@Autowired private CategoryRepository categoryRepo;
+	@Autowired private WalletRepository walletRepo;
+	@Autowired private CampaignRepository campaignRepo;
+	@Autowired private DocumentsRepository docRepo;
+
+	public Campaign campaign(String status, float target) {
+		return campaign(status, target, false);
+	}
+
+	public Campaign campaign(String status, float target, boolean withDocument) {
+		return campaign(status, target, withDocument, category());
+	}
+
+	/** A campaign titled "Seeded campaign", running from today for 30 days. */
+	public Campaign campaign(String status, float target, boolean withDocument, Category category) {
+		Role role = roleRepo.findByName("Campaign Creator").orElseGet(() -> {
+			Role r = new Role();
+			r.setName("Campaign Creator");
+			return roleRepo.save(r);
+		});
+
+		String unique = UUID.randomUUID().toString().replaceAll("\\D", "");
+		User user = new User();
+		user.setUsername("creator");
+		user.setEmail(unique + "@example.com");
+		user.setPassword("x");
+		user.setAdharNo((unique + "000000000000").substring(0, 12));
+		user.setPhoneNo((unique + "0000000000").substring(0, 10));
+		user.setRole(role);
+		userRepo.save(user);
+
+		Wallet wallet = new Wallet();
+		wallet.setUser(user);
+		wallet.setAmount(0f);
+		wallet.setCurBalance(0f);
+		wallet.setCreationDate(LocalDate.now());
+		walletRepo.save(wallet);
+
+		Campaign campaign = new Campaign();
+		campaign.setUser(user);
+		campaign.setTitle("Seeded campaign");
+		campaign.setDescription("Test fixture");
+		campaign.setCategory(category);
+		campaign.setStartDate(LocalDate.now());
+		campaign.setEndDate(LocalDate.now().plusDays(30));
+		campaign.setTargetAmt(target);
+		campaign.setWallet(wallet);
+		campaign.setStatus(status);
+		if (withDocument) {
+			Documents document = new Documents();
+			document.setFileName("proof.pdf");
+			document.setContentType("application/pdf");
+			document.setFileSize(1L);
+			campaign.setDocument(docRepo.save(document));
+		}
+		return campaignRepo.save(campaign);
+	}
+
+	public Category category() {
+		Category category = new Category();
+		category.setCname("Category " + UUID.randomUUID().toString().substring(0, 6));
+		return categoryRepo.save(category);
+	}
+}
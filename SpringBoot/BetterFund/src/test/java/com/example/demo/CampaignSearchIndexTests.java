@@ -0,0 +1,48 @@
+package com.example.demo;
+
+import com.example.demo.entities.Campaign;
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.services.CampaignSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Campaigns written without going through this instance's write paths reach
+ * the search index on its next refresh.
+ */
+@SpringBootTest
+class CampaignSearchIndexTests {
+
+	@Autowired private CampaignSearchIndex searchIndex;
+	@Autowired private CampaignFixtures fixtures;
+	@Autowired private CampaignRepository campaignRepo;
+
+	@Test
+	void refreshPicksUpCampaignsWrittenElsewhere() {
+		// saved straight to the database, as another instance would
+		Campaign campaign = fixtures.campaign("pending", 500f);
+		Integer category = campaign.getCategory().getCategoryId();
+		assertEquals(0, searchIndex.search("seeded", null, category, 10).total());
+
+		searchIndex.refresh();
+		CampaignSearchIndex.Result added = searchIndex.search("seeded", null, category, 10);
+		assertEquals(1, added.total());
+		assertEquals("pending", added.hits().get(0).status());
+
+		// a status change this instance never heard of
+		campaign.setStatus("active");
+		campaign = campaignRepo.save(campaign);
+		searchIndex.refresh();
+		assertEquals("active", searchIndex.search("seeded", null, category, 10).hits().get(0).status());
+
+		// an edited title is re-indexed and its old words no longer match
+		campaign.setTitle("Renamed fundraiser");
+		campaignRepo.save(campaign);
+		searchIndex.refresh();
+		assertEquals(0, searchIndex.search("seeded", null, category, 10).total());
+		assertEquals(1, searchIndex.search("renamed fund", null, category, 10).total());
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.demo;
+
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.services.CounterUpdateLock;
+import com.example.demo.services.DashboardStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dashboard counters stay exact when a write commits while a reconcile
+ * runs.
+ */
+@SpringBootTest
+class DashboardStatsTests {
+
+	@Autowired private DashboardStatsService statsService;
+	@Autowired private CounterUpdateLock counterLock;
+	@Autowired private CampaignFixtures fixtures;
+	@Autowired private CampaignRepository campaignRepo;
+
+	@Test
+	void campaignCommittedDuringReconcileIsCountedOnce() throws Exception {
+		statsService.reconcile();
+		CountDownLatch committed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			// like the create endpoint: commit, then count, with the reconcile starting in between
+			Future<?> write = pool.submit(() -> counterLock.run(() -> {
+				fixtures.campaign("active", 100f);
+				committed.countDown();
+				awaitQuietly(release);
+				statsService.onCampaignCreated("active");
+			}));
+			assertTrue(committed.await(10, TimeUnit.SECONDS));
+
+			Future<?> reconcile = pool.submit(statsService::reconcile);
+			// held back until the write has counted its campaign
+			assertThrows(TimeoutException.class, () -> reconcile.get(300, TimeUnit.MILLISECONDS));
+			release.countDown();
+			write.get(10, TimeUnit.SECONDS);
+			reconcile.get(10, TimeUnit.SECONDS);
+		} finally {
+			release.countDown();
+			pool.shutdownNow();
+		}
+
+		Map<String, Object> stats = statsService.snapshot();
+		assertEquals(campaignRepo.count(), stats.get("totalCampaigns"));
+		assertEquals(campaignRepo.countByStatus("active"), stats.get("activeCampaigns"));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
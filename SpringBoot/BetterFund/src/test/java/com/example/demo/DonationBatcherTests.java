@@ -0,0 +1,101 @@
+package com.example.demo;
+
+import com.example.demo.repositories.DonationTargetView;
+import com.example.demo.services.CampaignResponseCache;
+import com.example.demo.services.CounterUpdateLock;
+import com.example.demo.services.DashboardStatsService;
+import com.example.demo.services.DonationBatcher;
+import com.example.demo.services.DonationException;
+import com.example.demo.services.DonationReceipt;
+import com.example.demo.services.LiveRaisedCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Donation batching timeouts: a donation that times out while queued is
+ * withdrawn and never written, one already taken by the writer waits for its
+ * batch. No database; the batch transaction is held open by a latch.
+ */
+class DonationBatcherTests {
+
+	private static final long TIMEOUT_MS = 200;
+
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final CountDownLatch inBatch = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final DonationBatcher batcher = new DonationBatcher(true, 200, 1, 100, TIMEOUT_MS);
+
+	@SuppressWarnings("unchecked")
+	DonationBatcherTests() {
+		ReflectionTestUtils.setField(batcher, "transactionTemplate", transactionTemplate);
+		// no wallet rows are found, so the batch rejects its donations once released
+		ReflectionTestUtils.setField(batcher, "jdbcTemplate", mock(JdbcTemplate.class));
+		ReflectionTestUtils.setField(batcher, "statsService", mock(DashboardStatsService.class));
+		ReflectionTestUtils.setField(batcher, "liveRaised", mock(LiveRaisedCounters.class));
+		ReflectionTestUtils.setField(batcher, "responseCache", mock(CampaignResponseCache.class));
+		ReflectionTestUtils.setField(batcher, "counterLock", new CounterUpdateLock());
+		doAnswer(inv -> {
+			inBatch.countDown();
+			release.await();
+			((Consumer<TransactionStatus>) inv.getArgument(0)).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		release.countDown();
+		batcher.shutdown();
+	}
+
+	@Test
+	void queuedDonationIsWithdrawnOnTimeoutAndNeverWritten() throws Exception {
+		CompletableFuture<DonationReceipt> inFlight = batcher.submit(target(1), 5f);
+		assertTrue(inBatch.await(5, TimeUnit.SECONDS));
+		CompletableFuture<DonationReceipt> queued = batcher.submit(target(2), 5f);
+
+		ExecutionException timedOut = assertThrows(ExecutionException.class,
+				() -> queued.get(TIMEOUT_MS * 10, TimeUnit.MILLISECONDS));
+		assertInstanceOf(TimeoutException.class, timedOut.getCause());
+		// taken by the writer before its timeout: still waiting for the batch, not failed
+		assertFalse(inFlight.isDone());
+
+		release.countDown();
+		ExecutionException answered = assertThrows(ExecutionException.class,
+				() -> inFlight.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(DonationException.class, answered.getCause());
+		// the withdrawn donation never reaches a second batch
+		verify(transactionTemplate, after(TIMEOUT_MS * 2).times(1)).executeWithoutResult(any());
+	}
+
+	private static DonationTargetView target(int id) {
+		return new DonationTargetView() {
+			@Override public Integer getCampaignId() { return id; }
+			@Override public Integer getWalletId() { return id; }
+			@Override public Float getTargetAmt() { return 100f; }
+			@Override public String getStatus() { return "active"; }
+		};
+	}
+}
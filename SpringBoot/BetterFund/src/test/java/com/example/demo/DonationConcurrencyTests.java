@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import com.example.demo.entities.Campaign;
+import com.example.demo.repositories.DonationRepository;
+import com.example.demo.repositories.WalletRepository;
+import com.example.demo.services.DonationException;
+import com.example.demo.services.DonationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DonationConcurrencyTests {
+
+	private static final int THREADS = 32;
+
+	@Autowired private DonationService donationService;
+	@Autowired private CampaignFixtures fixtures;
+	@Autowired private WalletRepository walletRepo;
+	@Autowired private DonationRepository donationRepo;
+
+	@Test
+	void parallelDonationsAreAllApplied() throws Exception {
+		Campaign campaign = fixtures.campaign("active", 1_000_000f);
+		int donations = 2000;
+
+		int accepted = donateInParallel(campaign.getCampaignId(), donations, 1f);
+
+		assertEquals(donations, accepted);
+		assertEquals(donations, walletRepo.findById(campaign.getWallet().getWalletId()).get().getAmount());
+		assertEquals(donations, donationRepo.countByCampaign_CampaignId(campaign.getCampaignId()));
+	}
+
+	@Test
+	void parallelDonationsNeverOvershootTheTarget() throws Exception {
+		Campaign campaign = fixtures.campaign("active", 500f);
+
+		int accepted = donateInParallel(campaign.getCampaignId(), 1000, 1f);
+
+		assertEquals(500, accepted);
+		assertEquals(500f, walletRepo.findById(campaign.getWallet().getWalletId()).get().getAmount());
+		assertEquals(500, donationRepo.countByCampaign_CampaignId(campaign.getCampaignId()));
+	}
+
+	private int donateInParallel(Integer campaignId, int count, float amount) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger accepted = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					try {
+						donationService.donate(campaignId, amount);
+						accepted.incrementAndGet();
+					} catch (DonationException e) {
+						assertEquals(DonationException.Reason.EXCEEDS_TARGET, e.getReason());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+		}
+		return accepted.get();
+	}
+}
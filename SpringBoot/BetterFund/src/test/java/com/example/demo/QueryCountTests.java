@@ -0,0 +1,139 @@
+package com.example.demo;
+
+import com.example.demo.entities.Category;
+import com.example.demo.services.CampaignResponseCache;
+import com.example.demo.util.QueryMetricsDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 queries: each endpoint is called once with a few
+ * campaigns seeded and again with many more, and must run the same number of
+ * SQL statements both times, within its budget.
+ *
+ * Statements are counted at the JDBC level, so Hibernate and JdbcTemplate
+ * work both show up. Every campaign gets its own owner and wallet, and its
+ * own category unless the test filters by one, so any per-row lazy load adds
+ * statements.
+ */
+@SpringBootTest
+class QueryCountTests {
+
+	private static final int FEW = 3;
+	private static final int MANY = 40;
+
+	@Autowired private WebApplicationContext context;
+	@Autowired private CampaignResponseCache responseCache;
+	@Autowired private CampaignFixtures fixtures;
+
+	private MockMvc mvc;
+
+	// built by hand rather than with @AutoConfigureMockMvc so this class shares the
+	// application context, and with it the H2 schema and second-level cache, with the other tests
+	@BeforeEach
+	void setUpMockMvc() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void activeCampaigns() throws Exception {
+		assertConstantQueries(() -> "/api/campaign/active?limit=200", 2);
+	}
+
+	@Test
+	void activeCampaignsInCategory() throws Exception {
+		// every seeded campaign shares this category, so the filtered listing grows with the seeding
+		Category category = fixtures.category();
+		String url = "/api/campaign/active?limit=200&categoryId=" + category.getCategoryId();
+		assertConstantQueries(() -> url, 2, category);
+		mvc.perform(get(url)).andExpect(jsonPath("$.length()", greaterThan(FEW)));
+	}
+
+	@Test
+	void campaignById() throws Exception {
+		assertConstantQueries(() -> "/api/campaign/" + fixtures.campaign("active", 1000f).getCampaignId(), 2);
+	}
+
+	@Test
+	void pendingCampaigns() throws Exception {
+		assertConstantQueries(() -> "/api/campaign/admin/pending-campaigns", 2);
+	}
+
+	@Test
+	void dashboardStats() throws Exception {
+		assertConstantQueries(() -> "/api/campaign/admin/dashboard-stats", 0);
+	}
+
+	@Test
+	void search() throws Exception {
+		assertConstantQueries(() -> "/api/campaign/search?q=seeded", 0);
+	}
+
+	@Test
+	void adminUsers() throws Exception {
+		assertConstantQueries(() -> "/api/auth/admin/users", 1);
+	}
+
+	@Test
+	void cacheStats() throws Exception {
+		assertConstantQueries(() -> "/api/admin/cache-stats", 0);
+	}
+
+	/**
+	 * Seeds {@link #FEW} campaigns and counts the statements of one call,
+	 * then seeds {@link #MANY} more and counts again. The url is resolved
+	 * after each round of seeding.
+	 */
+	private void assertConstantQueries(Supplier<String> url, int budget) throws Exception {
+		assertConstantQueries(url, budget, null);
+	}
+
+	/** As above, with every campaign seeded into {@code category}, or each into its own if null. */
+	private void assertConstantQueries(Supplier<String> url, int budget, Category category) throws Exception {
+		seedCampaigns(FEW, category);
+		long few = queriesFor(url.get());
+		seedCampaigns(MANY, category);
+		long many = queriesFor(url.get());
+
+		assertEquals(few, many, "statements grew with the number of campaigns");
+		assertTrue(many <= budget, "ran " + many + " statements, budget is " + budget);
+	}
+
+	private long queriesFor(String url) throws Exception {
+		// measure the database path, not a cached body
+		responseCache.invalidateAll();
+		QueryMetricsDataSource.Tally tally;
+		QueryMetricsDataSource.begin();
+		try {
+			mvc.perform(get(url).with(user("admin").authorities(new SimpleGrantedAuthority("Admin"))))
+					.andExpect(status().isOk());
+		} finally {
+			tally = QueryMetricsDataSource.end();
+		}
+		return tally.count();
+	}
+
+	private void seedCampaigns(int count, Category category) {
+		for (int i = 0; i < count; i++) {
+			fixtures.campaign(i % 2 == 0 ? "active" : "pending", 1000f, i % 4 == 1,
+					category != null ? category : fixtures.category());
+		}
+	}
+}
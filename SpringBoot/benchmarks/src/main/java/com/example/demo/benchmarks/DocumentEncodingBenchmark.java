@@ -0,0 +1,55 @@
+package com.example.demo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64 encoding of campaign document blobs, as the admin and detail views
+ * used to embed them, against streaming the raw bytes the way
+ * {@code /api/campaign/{id}/document} serves them now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class DocumentEncodingBenchmark {
+
+    /** Blob size in bytes: a small scan, the default 1 MB upload limit, a raised limit. */
+    @Param({"65536", "1048576", "5242880"})
+    public int size;
+
+    private byte[] blob;
+    // stands in for the response buffer; reset per call so only the copy is measured
+    private ByteArrayOutputStream sink;
+
+    @Setup
+    public void setUp() {
+        blob = new byte[size];
+        ThreadLocalRandom.current().nextBytes(blob);
+        sink = new ByteArrayOutputStream(size);
+    }
+
+    @Benchmark
+    public String base64EncodeToString() {
+        return Base64.getEncoder().encodeToString(blob);
+    }
+
+    @Benchmark
+    public byte[] base64Encode() {
+        return Base64.getEncoder().encode(blob);
+    }
+
+    @Benchmark
+    public long streamRawBytes() throws IOException {
+        sink.reset();
+        return new ByteArrayInputStream(blob).transferTo(sink);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.BetterFundApplication;
+import com.example.demo.entities.Campaign;
+import com.example.demo.entities.Category;
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
+import com.example.demo.entities.Wallet;
+import com.example.demo.repositories.CampaignRepository;
+import com.example.demo.repositories.CategoryRepository;
+import com.example.demo.repositories.RoleRepository;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.repositories.WalletRepository;
+import com.example.demo.services.DonationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Donation throughput with per-request commits ({@code grouped=false})
+ * against the group-commit pipeline ({@code grouped=true}), with many
+ * clients donating to one campaign.
+ *
+ * Starts the application on a random port with an in-memory H2 database,
+ * which only shows the pipeline's own overhead. To see the effect of fsync,
+ * point it at MySQL, e.g.
+ * {@code -jvmArgsAppend "-Dspring.datasource.url=jdbc:mysql://localhost:3306/bench -Dspring.datasource.username=... -Dspring.datasource.password=..."}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class DonationCommitBenchmark {
+
+    @Param({"false", "true"})
+    public boolean grouped;
+
+    private ConfigurableApplicationContext context;
+    private DonationService donationService;
+    private Integer campaignId;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("spring.datasource.url",
+                "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1");
+        defaults.put("spring.datasource.username", "sa");
+        defaults.put("spring.datasource.password", "");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        defaults.put("server.port", "0");
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("documents.store.root", "target/benchmark-documents");
+        defaults.put("donation.batching.batch-size", "200");
+        defaults.put("donation.batching.linger-ms", "5");
+
+        // passed as arguments so they win over the packaged application.properties;
+        // a -D system property of the same name still takes precedence
+        List<String> args = new ArrayList<>();
+        defaults.forEach((key, value) -> args.add("--" + key + "=" + System.getProperty(key, value)));
+        args.add("--donation.batching.enabled=" + grouped);
+        context = new SpringApplicationBuilder(BetterFundApplication.class).run(args.toArray(String[]::new));
+
+        donationService = context.getBean(DonationService.class);
+        campaignId = createActiveCampaign().getCampaignId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object donate() {
+        return donationService.donate(campaignId, 1f);
+    }
+
+    private Campaign createActiveCampaign() {
+        Role role = new Role();
+        role.setName("Campaign Creator");
+        context.getBean(RoleRepository.class).save(role);
+
+        User user = new User();
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setPassword("x");
+        user.setAdharNo("999999999999");
+        user.setPhoneNo("8888888888");
+        user.setRole(role);
+        context.getBean(UserRepository.class).save(user);
+
+        Category category = new Category();
+        category.setCname("Benchmark");
+        context.getBean(CategoryRepository.class).save(category);
+
+        Wallet wallet = new Wallet();
+        wallet.setUser(user);
+        wallet.setAmount(0f);
+        wallet.setCurBalance(0f);
+        wallet.setCreationDate(LocalDate.now());
+        context.getBean(WalletRepository.class).save(wallet);
+
+        Campaign campaign = new Campaign();
+        campaign.setUser(user);
+        campaign.setTitle("Benchmark");
+        campaign.setDescription("Commit strategy comparison");
+        campaign.setCategory(category);
+        campaign.setStartDate(LocalDate.now());
+        campaign.setEndDate(LocalDate.now().plusDays(30));
+        // never reached, so no donation is rejected
+        campaign.setTargetAmt(1e30f);
+        campaign.setWallet(wallet);
+        campaign.setStatus("active");
+        return context.getBean(CampaignRepository.class).save(campaign);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
+import com.example.demo.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on login ({@code generateToken}) and on every
+ * authenticated request ({@code extractUsername}, {@code validateToken}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+
+        Role role = new Role();
+        role.setId(2);
+        role.setName("ROLE_USER");
+        user = new User();
+        user.setId(42);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@betterfund.test");
+        user.setRole(role);
+
+        userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password("unused")
+                .authorities(role.getName())
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
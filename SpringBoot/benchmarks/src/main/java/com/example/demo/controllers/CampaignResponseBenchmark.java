@@ -0,0 +1,98 @@
+package com.example.demo.controllers;
+
+import com.example.demo.repositories.CampaignSummary;
+import com.example.demo.services.LiveRaisedCounters;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing campaign responses: one {@code /active} page of
+ * {@link CampaignSummary} rows with live amounts, and a single detail body.
+ *
+ * Lives in the controller's package to call its package-private helpers, and
+ * serializes through the controller's own cached writers. The mapper is
+ * configured like the one Spring Boot gives the controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignResponseBenchmark {
+
+    @Param({"50", "200"})
+    public int pageSize;
+
+    private CampaignController controller;
+    private ObjectWriter summaryWriter;
+    private ObjectWriter summaryPageWriter;
+    private List<CampaignSummary> page;
+    private List<CampaignSummary> builtPage;
+
+    @Setup
+    public void setUp() {
+        controller = new CampaignController();
+        setField("liveRaised", new LiveRaisedCounters());
+        setField("objectMapper", Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        controller.initWriters();
+        summaryWriter = getField("summaryWriter");
+        summaryPageWriter = getField("summaryPageWriter");
+
+        page = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            page.add(new CampaignSummary(i, "Campaign number " + i, DESCRIPTION,
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 500_000f, "active",
+                    "fundraiser" + (i % 17), i % 6 + 1, "Category " + (i % 6 + 1), 1250.5f * i));
+        }
+        builtPage = buildActivePage();
+    }
+
+    @Benchmark
+    public List<CampaignSummary> buildActivePage() {
+        return page.stream().map(controller::withLiveAmount).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeActivePage() throws Exception {
+        return summaryPageWriter.writeValueAsBytes(builtPage);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeActivePage() throws Exception {
+        return summaryPageWriter.writeValueAsBytes(buildActivePage());
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeDetail() throws Exception {
+        return summaryWriter.writeValueAsBytes(controller.withLiveAmount(page.get(0)));
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(CampaignController.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, controller, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getField(String name) {
+        Field field = ReflectionUtils.findField(CampaignController.class, name);
+        ReflectionUtils.makeAccessible(field);
+        return (T) ReflectionUtils.getField(field, controller);
+    }
+
+    private static final String DESCRIPTION =
+            "Help us fund medical treatment, school supplies and clean water for the families "
+            + "in our village. Every contribution is tracked and reported back to donors.";
+}